@@ -0,0 +1,90 @@
+package com.blog_application.benchmarks;
+
+import com.blog_application.blogApp.entity.Category;
+import com.blog_application.blogApp.entity.Comment;
+import com.blog_application.blogApp.entity.Post;
+import com.blog_application.blogApp.entity.Role;
+import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.payloads.PostResponse;
+import com.blog_application.blogApp.payloads.PostSummaryDto;
+import com.blog_application.blogApp.security.JwtTokenHelper;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+// Detached entity graphs shaped like what the services load, so no database is needed
+public final class BlogFixtures {
+
+    private BlogFixtures()
+    {
+    }
+
+    public static User user(int id)
+    {
+        User user = new User();
+        user.setId(id);
+        user.setName("user" + id);
+        user.setEmail("user" + id + "@gmail.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3dWnRDi6dYwGgYuQ0N2eKzS");
+        user.setAbout("I am a Java developer writing about Spring Boot");
+        user.setRole(new Role(1, "ROLE_USER"));
+        return user;
+    }
+
+    public static Category category(int id)
+    {
+        return new Category(id, "Cricket " + id, "Everything about international cricket", new ArrayList<>());
+    }
+
+    public static Post post(int id, int contentLength, int commentCount)
+    {
+        Post post = new Post();
+        post.setPostId(id);
+        post.setTitle("Indian Cricket Team Journey in ICC ODI World Cup " + id);
+        post.setContent("a".repeat(contentLength));
+        post.setAddedDate(new Date());
+        post.setUser(user(id % 50));
+        post.setCategory(category(id % 10));
+
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < commentCount; i++) {
+            comments.add(new Comment(id * 100 + i, "Great post, thanks for sharing " + i, user(i), post));
+        }
+        post.setComments(comments);
+        return post;
+    }
+
+    // A listing page as the controllers return it, summaries only
+    public static PostResponse postResponse(int pageSize)
+    {
+        List<PostSummaryDto> content = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new PostSummaryDto(i, "Indian Cricket Team Journey in ICC ODI World Cup " + i, "a".repeat(200),
+                    "default-image.jpg", new Date(), "user" + i, "Cricket"));
+        }
+        return new PostResponse(content, 0, pageSize, 1000L, 1000 / pageSize, false, null);
+    }
+
+    // The helper gets its settings through @Value, outside of Spring they are set the same way the container would
+    public static JwtTokenHelper jwtTokenHelper(String secret, long expiration)
+    {
+        JwtTokenHelper jwtTokenHelper = new JwtTokenHelper();
+        setField(jwtTokenHelper, "SECRET", secret);
+        setField(jwtTokenHelper, "EXPIRATION_TIME", expiration);
+        jwtTokenHelper.init();
+        return jwtTokenHelper;
+    }
+
+    private static void setField(Object target, String name, Object value)
+    {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name + " on " + target.getClass().getSimpleName(), e);
+        }
+    }
+}
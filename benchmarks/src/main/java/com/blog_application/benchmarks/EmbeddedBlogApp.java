@@ -0,0 +1,46 @@
+package com.blog_application.benchmarks;
+
+import com.blog_application.blogApp.BlogAppApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The whole application on an in-memory H2 database filled by the seed profile, listening on a free port
+public final class EmbeddedBlogApp {
+
+    private EmbeddedBlogApp()
+    {
+    }
+
+    public static ConfigurableApplicationContext start(int posts, int users, int categories, String... extraArgs)
+    {
+        // Command line arguments, so they win over application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--seed.posts=" + posts,
+                "--seed.users=" + users,
+                "--seed.categories=" + categories,
+                "--seed.threads=4"));
+        args.addAll(List.of(extraArgs));
+
+        return new SpringApplicationBuilder(BlogAppApplication.class)
+                .profiles("seed")
+                .run(args.toArray(String[]::new));
+    }
+
+    public static int port(ConfigurableApplicationContext context)
+    {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
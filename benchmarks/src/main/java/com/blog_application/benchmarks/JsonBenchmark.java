@@ -0,0 +1,64 @@
+package com.blog_application.benchmarks;
+
+import com.blog_application.blogApp.payloads.PostResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a listing page, the body of every GET /posts. The mapper is built the way Spring Boot builds
+ * the one behind the message converters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter postResponseWriter;
+    private PostResponse postResponse;
+
+    @Setup
+    public void setUp()
+    {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        postResponseWriter = objectMapper.writerFor(PostResponse.class);
+        postResponse = BlogFixtures.postResponse(pageSize);
+    }
+
+    @Benchmark
+    public byte[] writeValue() throws JsonProcessingException
+    {
+        return objectMapper.writeValueAsBytes(postResponse);
+    }
+
+    // A writer resolved once up front, what a hand-tuned endpoint could use
+    @Benchmark
+    public byte[] typedWriter() throws JsonProcessingException
+    {
+        return postResponseWriter.writeValueAsBytes(postResponse);
+    }
+}
@@ -0,0 +1,72 @@
+package com.blog_application.benchmarks;
+
+import com.blog_application.blogApp.cache.VerifiedTokenCache;
+import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.security.JwtTokenHelper;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The token work every authenticated request pays: signing at login, parsing for the subject and the full
+ * validation. validate is what the authentication filter pays on a verified token cache miss, validateCached on a hit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtTokenHelper jwtTokenHelper;
+    private User user;
+    private String token;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Setup
+    public void setUp()
+    {
+        jwtTokenHelper = BlogFixtures.jwtTokenHelper("some_secure_and_long_secret_key_that_is_at_least_32_chars", 3600000);
+        user = BlogFixtures.user(1);
+        token = jwtTokenHelper.generateToken(user.getUsername());
+        verifiedTokenCache = new VerifiedTokenCache(10_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public String generate()
+    {
+        return jwtTokenHelper.generateToken(user.getUsername());
+    }
+
+    @Benchmark
+    public String parse()
+    {
+        return jwtTokenHelper.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public Boolean validate()
+    {
+        return jwtTokenHelper.validateToken(token, user);
+    }
+
+    @Benchmark
+    public Boolean validateCached()
+    {
+        Claims claims = verifiedTokenCache.get(token, jwtTokenHelper::getAllClaimsFromToken);
+        return jwtTokenHelper.validateClaims(claims, user);
+    }
+}
@@ -0,0 +1,90 @@
+package com.blog_application.benchmarks;
+
+import com.blog_application.blogApp.entity.Post;
+import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.mapper.CategoryMapperImpl;
+import com.blog_application.blogApp.mapper.CommentMapperImpl;
+import com.blog_application.blogApp.mapper.PostMapper;
+import com.blog_application.blogApp.mapper.PostMapperImpl;
+import com.blog_application.blogApp.mapper.UserMapper;
+import com.blog_application.blogApp.mapper.UserMapperImpl;
+import com.blog_application.blogApp.payloads.PostDto;
+import com.blog_application.blogApp.payloads.UserDto;
+import com.blog_application.blogApp.service.PostServiceImpl;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reflective ModelMapper (the old entityToDto) against the generated MapStruct mappers, and PostServiceImpl.entityToDto
+ * as the services call it. Run with -prof gc to get the allocation per mapping (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private PostMapper postMapper;
+    private UserMapper userMapper;
+    private PostServiceImpl postService;
+
+    private Post post;
+    private User user;
+
+    @Setup
+    public void setUp()
+    {
+        modelMapper = new ModelMapper();
+        userMapper = new UserMapperImpl();
+        postMapper = new PostMapperImpl(userMapper, new CategoryMapperImpl(), new CommentMapperImpl(userMapper));
+        // entityToDto only needs the mapper
+        postService = new PostServiceImpl(null, null, null, postMapper, null, null, null, null, null, null, null);
+
+        post = BlogFixtures.post(1, 2000, 5);
+        user = BlogFixtures.user(1);
+    }
+
+    @Benchmark
+    public PostDto modelMapperPost()
+    {
+        return modelMapper.map(post, PostDto.class);
+    }
+
+    @Benchmark
+    public PostDto generatedPost()
+    {
+        return postMapper.toDto(post);
+    }
+
+    @Benchmark
+    public PostDto serviceEntityToDto()
+    {
+        return postService.entityToDto(post);
+    }
+
+    @Benchmark
+    public UserDto modelMapperUser()
+    {
+        return modelMapper.map(user, UserDto.class);
+    }
+
+    @Benchmark
+    public UserDto generatedUser()
+    {
+        return userMapper.toDto(user);
+    }
+}
@@ -0,0 +1,77 @@
+package com.blog_application.benchmarks;
+
+import com.blog_application.blogApp.search.PostSearchIndex;
+import com.blog_application.blogApp.search.PostTitleTrie;
+import com.blog_application.blogApp.search.SearchHits;
+import com.blog_application.blogApp.seed.SeedDataGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory search structures on their own: BM25 ranking of the inverted index and the title trie typeahead.
+ * The posts come from the seed data generator, so term frequencies and text lengths look like the seeded database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    @Param({"10000", "100000"})
+    private int posts;
+
+    private PostSearchIndex postSearchIndex;
+    private PostTitleTrie postTitleTrie;
+
+    @Setup
+    public void setUp()
+    {
+        postSearchIndex = new PostSearchIndex();
+        postTitleTrie = new PostTitleTrie();
+        SeedDataGenerator generator = new SeedDataGenerator(42);
+        for (int postId = 1; postId <= posts; postId++) {
+            String title = generator.title();
+            postSearchIndex.index(postId, title, generator.content());
+            postTitleTrie.index(postId, title, generator.commentCount(5));
+        }
+    }
+
+    // Terms from the head of the vocabulary, nearly every post is a hit
+    @Benchmark
+    public SearchHits searchCommonTerms()
+    {
+        return postSearchIndex.search("the team and the world", null, 0, 10);
+    }
+
+    @Benchmark
+    public SearchHits searchRareTerm()
+    {
+        return postSearchIndex.search("festival", null, 0, 10);
+    }
+
+    @Benchmark
+    public SearchHits searchDeepPage()
+    {
+        return postSearchIndex.search("cricket world cup", null, 990, 10);
+    }
+
+    @Benchmark
+    public List<PostTitleTrie.Suggestion> suggest()
+    {
+        return postTitleTrie.suggest("cri", PostTitleTrie.TOP_N);
+    }
+}
@@ -0,0 +1,63 @@
+package com.blog_application.benchmarks;
+
+import com.blog_application.blogApp.payloads.PostResponse;
+import com.blog_application.blogApp.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PostService.searchPosts end to end: index ranking plus the summary select of the hits, against the whole
+ * application started on an in-memory H2 database and filled by the seed profile.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SearchServiceBenchmark {
+
+    @Param({"20000"})
+    private int posts;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+
+    @Setup
+    public void setUp()
+    {
+        context = EmbeddedBlogApp.start(posts, 1000, 20);
+        postService = context.getBean(PostService.class);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public PostResponse firstPage()
+    {
+        return postService.searchPosts("cricket world cup", 0, 10, null);
+    }
+
+    @Benchmark
+    public PostResponse deepPage()
+    {
+        return postService.searchPosts("cricket world cup", 50, 10, null);
+    }
+}
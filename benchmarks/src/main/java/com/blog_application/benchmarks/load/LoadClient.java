@@ -0,0 +1,80 @@
+package com.blog_application.benchmarks.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+// State of one simulated user: who it is logged in as and its own random stream, so a run is reproducible per client
+final class LoadClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final int userId;
+    private final String token;
+    private final Random random;
+    private final int minPostId;
+    private final int maxPostId;
+    private final List<Integer> categoryIds;
+
+    LoadClient(String baseUrl, int userId, String token, long seed, int minPostId, int maxPostId, List<Integer> categoryIds)
+    {
+        this.baseUrl = baseUrl;
+        this.userId = userId;
+        this.token = token;
+        this.random = new Random(seed);
+        this.minPostId = minPostId;
+        this.maxPostId = maxPostId;
+        this.categoryIds = categoryIds;
+    }
+
+    int userId()
+    {
+        return userId;
+    }
+
+    Random random()
+    {
+        return random;
+    }
+
+    // Skewed towards the newest posts, the way readers pile onto recent ones
+    int hotPostId()
+    {
+        int span = maxPostId - minPostId + 1;
+        double u = random.nextDouble();
+        return maxPostId - (int) (u * u * u * span);
+    }
+
+    int categoryId()
+    {
+        return categoryIds.get(random.nextInt(categoryIds.size()));
+    }
+
+    String pick(String[] values)
+    {
+        return values[random.nextInt(values.length)];
+    }
+
+    HttpRequest get(String path)
+    {
+        return builder(path).GET().build();
+    }
+
+    HttpRequest post(String path, String json)
+    {
+        return builder(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path)
+    {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token);
+    }
+}
@@ -0,0 +1,122 @@
+package com.blog_application.benchmarks.load;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+
+// The calls a client can make, with the share of the default mix each one gets
+enum LoadOperation {
+
+    LIST_POSTS("listPosts", 25) {
+        @Override
+        HttpRequest request(LoadClient client)
+        {
+            return client.get("/api/posts?pageNumber=" + client.random().nextInt(10) + "&pageSize=10");
+        }
+    },
+    GET_POST("getPost", 30) {
+        @Override
+        HttpRequest request(LoadClient client)
+        {
+            return client.get("/api/posts/" + client.hotPostId());
+        }
+    },
+    SEARCH("search", 10) {
+        @Override
+        HttpRequest request(LoadClient client)
+        {
+            return client.get("/api/posts/search/" + encode(client.pick(SEARCH_TERMS)));
+        }
+    },
+    SUGGEST("suggest", 10) {
+        @Override
+        HttpRequest request(LoadClient client)
+        {
+            return client.get("/api/posts/suggest?prefix=" + encode(client.pick(PREFIXES)));
+        }
+    },
+    CATEGORY_POSTS("categoryPosts", 10) {
+        @Override
+        HttpRequest request(LoadClient client)
+        {
+            return client.get("/api/category/" + client.categoryId() + "/posts");
+        }
+    },
+    ALL_CATEGORIES("allCategories", 5) {
+        @Override
+        HttpRequest request(LoadClient client)
+        {
+            return client.get("/api/categories/all-categories");
+        }
+    },
+    ONE_CATEGORY("oneCategory", 3) {
+        @Override
+        HttpRequest request(LoadClient client)
+        {
+            return client.get("/api/categories/one-category?id=" + client.categoryId());
+        }
+    },
+    CREATE_COMMENT("createComment", 5) {
+        @Override
+        HttpRequest request(LoadClient client)
+        {
+            return client.post("/api/user/" + client.userId() + "/post/" + client.hotPostId() + "/comments",
+                    "{\"content\":\"Load test comment " + client.random().nextInt(1_000_000) + "\"}");
+        }
+    },
+    CREATE_POST("createPost", 2) {
+        @Override
+        HttpRequest request(LoadClient client)
+        {
+            return client.post("/api/user/" + client.userId() + "/category/" + client.categoryId() + "/posts",
+                    "{\"title\":\"Load test " + client.pick(SEARCH_TERMS) + "\",\"content\":\"Written by the load test\"}");
+        }
+    };
+
+    private static final String[] SEARCH_TERMS = {"cricket world cup", "travel guide", "java spring", "memory latency", "album review", "mountain"};
+    private static final String[] PREFIXES = {"cr", "wor", "tra", "ja", "spr", "mus", "the ci"};
+
+    private final String label;
+    private final int defaultWeight;
+
+    LoadOperation(String label, int defaultWeight)
+    {
+        this.label = label;
+        this.defaultWeight = defaultWeight;
+    }
+
+    abstract HttpRequest request(LoadClient client);
+
+    String label()
+    {
+        return label;
+    }
+
+    int defaultWeight()
+    {
+        return defaultWeight;
+    }
+
+    // one-category answers 302 FOUND, so anything below 400 counts as a success
+    boolean succeeded(int status)
+    {
+        return status < 400;
+    }
+
+    static LoadOperation byLabel(String label)
+    {
+        for(LoadOperation operation : values())
+        {
+            if(operation.label.equals(label))
+            {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + label);
+    }
+
+    private static String encode(String value)
+    {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,312 @@
+package com.blog_application.benchmarks.load;
+
+import com.blog_application.benchmarks.EmbeddedBlogApp;
+import com.blog_application.blogApp.payloads.JwtAuthRequest;
+import com.blog_application.blogApp.payloads.JwtAuthResponse;
+import com.blog_application.blogApp.seed.DataSeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load test of the whole application. The app starts on an in-memory H2 database filled by the
+ * seed profile, every client logs in as its own seeded user and then sends its next request as soon as the previous
+ * one answered, each client on its own virtual thread. Latencies after the warmup go into one HDR histogram per
+ * operation. Being closed-loop, a stall slows the clients down instead of queueing requests, so the percentiles are
+ * service times and the throughput is what the given number of clients can get out of the app.
+ * <p>
+ * Arguments are key=value pairs, e.g. {@code clients=64 warmup=10 duration=30 mix=getPost:50,search:50}.
+ */
+public final class LoadTest {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("clients", "32");
+        DEFAULTS.put("warmup", "10");
+        DEFAULTS.put("duration", "30");
+        DEFAULTS.put("posts", "20000");
+        DEFAULTS.put("users", "1000");
+        DEFAULTS.put("categories", "20");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("mix", "");
+    }
+
+    private final int clients;
+    private final Duration warmup;
+    private final Duration duration;
+    private final long seed;
+    private final Map<LoadOperation, Integer> mix;
+    private final int totalWeight;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<LoadOperation, Stats> stats = new EnumMap<>(LoadOperation.class);
+
+    private LoadTest(Map<String, String> options)
+    {
+        this.clients = Integer.parseInt(options.get("clients"));
+        this.warmup = Duration.ofSeconds(Long.parseLong(options.get("warmup")));
+        this.duration = Duration.ofSeconds(Long.parseLong(options.get("duration")));
+        this.seed = Long.parseLong(options.get("seed"));
+        this.mix = parseMix(options.get("mix"));
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        mix.keySet().forEach(operation -> stats.put(operation, new Stats()));
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        Map<String, String> options = parseArgs(args);
+        LoadTest loadTest = new LoadTest(options);
+
+        try (ConfigurableApplicationContext context = EmbeddedBlogApp.start(
+                Integer.parseInt(options.get("posts")),
+                Integer.parseInt(options.get("users")),
+                Integer.parseInt(options.get("categories")),
+                // Every client logs in from localhost
+                "--security.login-rate-limit.ip.capacity=1000000",
+                "--security.login-rate-limit.ip.per-minute=1000000"))
+        {
+            loadTest.run(context);
+        }
+    }
+
+    private void run(ConfigurableApplicationContext context) throws Exception
+    {
+        String baseUrl = "http://localhost:" + EmbeddedBlogApp.port(context);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Integer> userIds = jdbcTemplate.queryForList("select id from users where email like 'seed%@example.com' order by id", Integer.class);
+        List<Integer> categoryIds = jdbcTemplate.queryForList("select id from categories order by id", Integer.class);
+        Integer minPostId = jdbcTemplate.queryForObject("select min(post_id) from posts", Integer.class);
+        Integer maxPostId = jdbcTemplate.queryForObject("select max(post_id) from posts", Integer.class);
+        if(userIds.size() < clients || categoryIds.isEmpty() || minPostId == null)
+        {
+            throw new IllegalStateException("Seed at least " + clients + " users, one category and one post");
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            List<Future<LoadClient>> logins = new ArrayList<>(clients);
+            for(int i = 0; i < clients; i++)
+            {
+                int userId = userIds.get(i);
+                long clientSeed = seed + i;
+                logins.add(executor.submit(() -> new LoadClient(baseUrl, userId, login(httpClient, baseUrl, userId),
+                        clientSeed, minPostId, maxPostId, categoryIds)));
+            }
+            List<LoadClient> loadClients = new ArrayList<>(clients);
+            for(Future<LoadClient> login : logins)
+            {
+                loadClients.add(login.get());
+            }
+
+            System.out.printf("%d clients logged in, %d posts, warmup %ds, measuring %ds%n",
+                    clients, maxPostId - minPostId + 1, warmup.toSeconds(), duration.toSeconds());
+
+            long start = System.nanoTime();
+            long measureFrom = start + warmup.toNanos();
+            long end = measureFrom + duration.toNanos();
+            List<Future<?>> loops = new ArrayList<>(clients);
+            for(LoadClient client : loadClients)
+            {
+                loops.add(executor.submit(() -> loop(httpClient, client, measureFrom, end)));
+            }
+            for(Future<?> loop : loops)
+            {
+                loop.get();
+            }
+        }
+
+        report();
+    }
+
+    private String login(HttpClient httpClient, String baseUrl, int userId) throws Exception
+    {
+        JwtAuthRequest request = new JwtAuthRequest();
+        request.setEmail("seed" + userId + "@example.com");
+        request.setPassword(DataSeeder.PASSWORD);
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(request)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if(response.statusCode() != 200)
+        {
+            throw new IllegalStateException("Login of user " + userId + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readValue(response.body(), JwtAuthResponse.class).getToken();
+    }
+
+    private void loop(HttpClient httpClient, LoadClient client, long measureFrom, long end)
+    {
+        long now = System.nanoTime();
+        while(now < end)
+        {
+            LoadOperation operation = next(client);
+            HttpRequest request = operation.request(client);
+            int status;
+            try {
+                // The body is read in full, a real client would not stop at the headers either
+                status = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                status = -1;
+            }
+            long sent = now;
+            now = System.nanoTime();
+
+            if(sent >= measureFrom)
+            {
+                stats.get(operation).record(now - sent, operation.succeeded(status), status, request);
+            }
+        }
+    }
+
+    private LoadOperation next(LoadClient client)
+    {
+        int ticket = client.random().nextInt(totalWeight);
+        for(Map.Entry<LoadOperation, Integer> entry : mix.entrySet())
+        {
+            ticket -= entry.getValue();
+            if(ticket < 0)
+            {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Mix weights changed during the run");
+    }
+
+    private void report()
+    {
+        double seconds = duration.toNanos() / 1e9;
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+
+        System.out.printf("%n%-15s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for(Map.Entry<LoadOperation, Stats> entry : stats.entrySet())
+        {
+            Stats operationStats = entry.getValue();
+            Histogram histogram = operationStats.latencies.copy();
+            total.add(histogram);
+            totalErrors += operationStats.errors.sum();
+            print(entry.getKey().label(), histogram, operationStats.errors.sum(), seconds);
+        }
+        print("total", total, totalErrors, seconds);
+
+        stats.forEach((operation, operationStats) -> {
+            String firstError = operationStats.firstError.get();
+            if(firstError != null)
+            {
+                System.out.printf("first %s error: %s%n", operation.label(), firstError);
+            }
+        });
+    }
+
+    private static void print(String label, Histogram histogram, long errors, double seconds)
+    {
+        System.out.printf("%-15s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                label,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                errors,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos)
+    {
+        return nanos / 1e6;
+    }
+
+    private static Map<String, String> parseArgs(String[] args)
+    {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for(String arg : args)
+        {
+            int separator = arg.indexOf('=');
+            String key = separator < 0 ? arg : arg.substring(0, separator);
+            if(separator < 0 || !DEFAULTS.containsKey(key))
+            {
+                throw new IllegalArgumentException("Expected one of " + DEFAULTS.keySet() + " as key=value, got: " + arg);
+            }
+            options.put(key, arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    // label:weight pairs, e.g. getPost:60,search:40; empty means every operation at its default weight
+    private static Map<LoadOperation, Integer> parseMix(String value)
+    {
+        Map<LoadOperation, Integer> mix = new EnumMap<>(LoadOperation.class);
+        if(value.isBlank())
+        {
+            for(LoadOperation operation : LoadOperation.values())
+            {
+                mix.put(operation, operation.defaultWeight());
+            }
+            return mix;
+        }
+
+        for(String part : value.split(","))
+        {
+            String[] pair = part.split(":");
+            int weight = pair.length == 2 ? Integer.parseInt(pair[1]) : 1;
+            if(weight > 0)
+            {
+                mix.put(LoadOperation.byLabel(pair[0]), weight);
+            }
+        }
+        if(mix.isEmpty())
+        {
+            throw new IllegalArgumentException("The mix has no operation with a positive weight: " + value);
+        }
+        return mix;
+    }
+
+    private static final class Stats {
+
+        // Auto-resizing, so a stalled request is recorded as it is instead of being clipped
+        private final ConcurrentHistogram latencies = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+        private final AtomicReference<String> firstError = new AtomicReference<>();
+
+        private void record(long nanos, boolean succeeded, int status, HttpRequest request)
+        {
+            latencies.recordValue(nanos);
+            if(!succeeded)
+            {
+                errors.increment();
+                firstError.compareAndSet(null, status + " " + request.method() + " " + request.uri().getPath());
+            }
+        }
+    }
+}
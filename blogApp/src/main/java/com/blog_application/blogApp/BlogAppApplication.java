@@ -1,11 +1,11 @@
 package com.blog_application.blogApp;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class BlogAppApplication {
 
 	public static void main(String[] args) {
@@ -13,10 +13,4 @@ public class BlogAppApplication {
 		SpringApplication.run(BlogAppApplication.class, args);
 	}
 
-	@Bean
-	public ModelMapper modelMapper()
-	{
-		return  new ModelMapper();
-	}
-
 }
@@ -0,0 +1,21 @@
+package com.blog_application.blogApp.cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Formats the versions behind the post and listing ETags. Their counters restart with the process, so every version
+ * starts with a nonce drawn once per process, which keeps a version from one run from matching another.
+ */
+final class CacheVersions {
+
+    private static final String PROCESS_NONCE = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private CacheVersions()
+    {
+    }
+
+    static String format(long epoch, long counter)
+    {
+        return PROCESS_NONCE + "-" + epoch + "-" + counter;
+    }
+}
@@ -0,0 +1,104 @@
+package com.blog_application.blogApp.cache;
+
+import com.blog_application.blogApp.payloads.CommentDto;
+import com.blog_application.blogApp.payloads.PostDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of single posts keyed by postId. Caffeine evicts with W-TinyLFU, so a few hot posts
+ * stay resident while one-off reads are rejected, and the total size is capped by entry weight instead of count.
+ * Hits, misses and evictions are published to Micrometer under the cache name "posts".
+ * Every post also has a version that changes whenever its cached entry is dropped, it backs the post ETag.
+ */
+@Component
+public class PostCache {
+
+    public static final String CACHE_NAME = "posts";
+
+    // Rough per-entry cost of the DTO graph besides its text, so tiny posts still count
+    private static final int ENTRY_OVERHEAD = 256;
+    private static final int COMMENT_OVERHEAD = 64;
+
+    private final Cache<Integer, PostDto> cache;
+    private final Map<Integer, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+
+    @Autowired
+    public PostCache(@Value("${cache.posts.max-weight}") long maxWeight,
+                     @Value("${cache.posts.ttl}") Duration ttl,
+                     MeterRegistry meterRegistry)
+    {
+        this(maxWeight, ttl, meterRegistry, ForkJoinPool.commonPool());
+    }
+
+    // Eviction runs on the executor, tests pass a same-thread one to observe it synchronously
+    PostCache(long maxWeight, Duration ttl, MeterRegistry meterRegistry, Executor executor)
+    {
+        this.cache = Caffeine.newBuilder()
+                .executor(executor)
+                .maximumWeight(maxWeight)
+                .weigher((Integer postId, PostDto postDto) -> weigh(postDto))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // The loader runs at most once per key, an evict issued while it runs waits for it and then removes the result
+    public PostDto get(Integer postId, Function<Integer, PostDto> loader)
+    {
+        return cache.get(postId, loader);
+    }
+
+    // The entry is dropped before the version moves, so whoever sees the new version cannot be served the old entry
+    public void evict(Integer postId)
+    {
+        cache.invalidate(postId);
+        versions.computeIfAbsent(postId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    // For changes that can show up in any post, e.g. a renamed author or category
+    public void evictAll()
+    {
+        cache.invalidateAll();
+        epoch.incrementAndGet();
+    }
+
+    public String version(Integer postId)
+    {
+        AtomicLong version = versions.get(postId);
+        return CacheVersions.format(epoch.get(), version == null ? 0 : version.get());
+    }
+
+    static int weigh(PostDto postDto)
+    {
+        long weight = ENTRY_OVERHEAD + length(postDto.getTitle()) + length(postDto.getContent());
+        if(postDto.getComments() != null)
+        {
+            for(CommentDto comment : postDto.getComments())
+            {
+                weight += COMMENT_OVERHEAD + length(comment.getContent());
+            }
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static int length(String value)
+    {
+        return value == null ? 0 : value.length();
+    }
+}
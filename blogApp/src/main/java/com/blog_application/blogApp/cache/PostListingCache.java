@@ -0,0 +1,100 @@
+package com.blog_application.blogApp.cache;
+
+import com.blog_application.blogApp.payloads.PostResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of offset listing pages keyed by (scope, page, size, sortBy, sortDir). A scope is the global listing,
+ * one category or one user. Every scope has a generation counter that is part of the key: a writer bumps the
+ * counters of the scopes it touched after its change is saved, so a page loaded concurrently from pre-write data
+ * lands under the old generation and is never served again. The same counters version every listing of a scope,
+ * whichever paging mode it uses, and back the listing ETags.
+ * <p>
+ * Only writes create counters, a scope nobody wrote to reads as generation 0, so requests for arbitrary category or
+ * user ids cannot grow the map. Pages of older generations are never looked up again and age out of the cache.
+ */
+@Component
+public class PostListingCache {
+
+    public static final String CACHE_NAME = "post-pages";
+    public static final String ALL_SCOPE = "all";
+
+    private final Cache<PageKey, PostResponse> cache;
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    // Bumped when a change can touch any scope, e.g. a renamed category shows up in every listing
+    private final AtomicLong epoch = new AtomicLong();
+
+    public PostListingCache(@Value("${cache.post-pages.max-size}") long maxSize,
+                            @Value("${cache.post-pages.ttl}") Duration ttl,
+                            MeterRegistry meterRegistry)
+    {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public static String categoryScope(Integer categoryId)
+    {
+        return "category:"+categoryId;
+    }
+
+    public static String userScope(Integer userId)
+    {
+        return "user:"+userId;
+    }
+
+    // The counters are read before the loader runs, that ordering is what keeps racing writes safe
+    public PostResponse get(String scope, Integer pageNumber, Integer pageSize, String sortBy, String sortDir, Supplier<PostResponse> loader)
+    {
+        String direction = sortDir.equalsIgnoreCase("asc") ? "asc" : "desc";
+        PageKey key = new PageKey(scope, epoch.get(), generation(scope), pageNumber, pageSize, sortBy, direction);
+        return cache.get(key, k -> loader.get());
+    }
+
+    public String version(String scope)
+    {
+        return CacheVersions.format(epoch.get(), generation(scope));
+    }
+
+    // A post was created, changed or removed: only its category, its author and the global listing are stale
+    public void invalidatePost(Integer userId, Integer categoryId)
+    {
+        invalidate(ALL_SCOPE);
+        invalidate(categoryScope(categoryId));
+        invalidate(userScope(userId));
+    }
+
+    public void invalidateAll()
+    {
+        epoch.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private void invalidate(String scope)
+    {
+        generations.merge(scope, 1L, Long::sum);
+    }
+
+    private long generation(String scope)
+    {
+        return generations.getOrDefault(scope, 0L);
+    }
+
+    private record PageKey(String scope, long epoch, long generation, Integer pageNumber, Integer pageSize, String sortBy, String sortDir) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.blog_application.blogApp.cache;
+
+import com.blog_application.blogApp.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of authenticated principals keyed by email, so a request with a valid token does not need a
+ * users query and its role join. Entries are evicted when the user changes, the TTL only bounds how long a change
+ * made outside the application (e.g. directly in the database) can go unnoticed.
+ */
+@Component
+public class PrincipalCache {
+
+    public static final String CACHE_NAME = "principals";
+
+    private final Cache<String, UserDetails> cache;
+
+    public PrincipalCache(@Value("${cache.principals.max-size}") long maxSize,
+                          @Value("${cache.principals.ttl}") Duration ttl,
+                          MeterRegistry meterRegistry)
+    {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public UserDetails get(String email, Function<String, UserDetails> loader)
+    {
+        return cache.get(email, key -> detach(loader.apply(key)));
+    }
+
+    public void evict(String email)
+    {
+        cache.invalidate(email);
+    }
+
+    // The entry is shared by concurrent requests long after its session closed, so it keeps no lazy collections
+    private static UserDetails detach(UserDetails userDetails)
+    {
+        if(userDetails instanceof User user)
+        {
+            return new User(user.getId(), user.getName(), user.getEmail(), user.getPassword(), user.getAbout(),
+                    new ArrayList<>(), new ArrayList<>(), user.getRole(), user.getTokenVersion());
+        }
+        return userDetails;
+    }
+}
@@ -0,0 +1,70 @@
+package com.blog_application.blogApp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * Claims of recently verified tokens keyed by the SHA-256 digest of the token, so a client repeating its token skips
+ * the signature check and the JSON parse. A digest is the key so the cache holds no usable bearer tokens. An entry
+ * never outlives its token, the TTL caps tokens without an expiration. Only verified claims are stored, a token that
+ * fails verification is checked again on every request.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    public static final String CACHE_NAME = "verified-tokens";
+
+    private final Cache<String, Claims> cache;
+
+    public VerifiedTokenCache(@Value("${cache.verified-tokens.max-size}") long maxSize,
+                              @Value("${cache.verified-tokens.ttl}") Duration ttl,
+                              MeterRegistry meterRegistry)
+    {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String digest, Claims claims) -> lifetime(claims, ttl)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // The verifier runs only on a miss, its exceptions reach the caller and nothing is cached for the token
+    public Claims get(String token, Function<String, Claims> verifier)
+    {
+        return cache.get(digest(token), digest -> verifier.apply(token));
+    }
+
+    static Duration lifetime(Claims claims, Duration ttl)
+    {
+        Date expiration = claims.getExpiration();
+        if(expiration == null)
+        {
+            return ttl;
+        }
+        Duration remaining = Duration.ofMillis(expiration.getTime() - System.currentTimeMillis());
+        return remaining.isNegative() ? Duration.ZERO : (remaining.compareTo(ttl) < 0 ? remaining : ttl);
+    }
+
+    private static String digest(String token)
+    {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -5,4 +5,11 @@ public class AppConstants {
     public static final String PAGE_SIZE = "5";
     public static final String SORT_BY = "postId";
     public static final String SORT_DIR = "asc";
+    public static final String WITH_TOTALS = "true";
+    public static final String SUGGEST_LIMIT = "5";
+    public static final int SEARCH_PAGE_MAX = 100;
+    public static final int SEARCH_MAX_OFFSET = 10_000;
+    public static final int BULK_MAX_POSTS = 1000;
+    public static final String USER_PAGE_SIZE = "50";
+    public static final int USER_PAGE_MAX = 1000;
 }
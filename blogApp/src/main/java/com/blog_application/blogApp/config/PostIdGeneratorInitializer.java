@@ -0,0 +1,57 @@
+package com.blog_application.blogApp.config;
+
+import com.blog_application.blogApp.entity.Post;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Post ids used to come from an auto increment column. The pooled table generator that replaced it starts from its
+ * own row in id_generators, so on a database that already has posts the row is moved past the highest postId before
+ * the first insert. Hibernate hands out the block (next_val - allocation size, next_val], hence the extra block.
+ * The update only ever raises the row, it is a no-op once ids have moved on.
+ */
+@Component
+public class PostIdGeneratorInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostIdGeneratorInitializer.class);
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public PostIdGeneratorInitializer(EntityManager entityManager, PlatformTransactionManager transactionManager)
+    {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated()
+    {
+        transactionTemplate.executeWithoutResult(status -> {
+            Number maxPostId = (Number) entityManager.createQuery("select coalesce(max(p.postId), 0) from Post p").getSingleResult();
+            long floor = maxPostId.longValue() + Post.ID_ALLOCATION_SIZE;
+
+            int updated = entityManager.createNativeQuery("update id_generators set next_val = :floor where sequence_name = 'posts' and next_val < :floor")
+                    .setParameter("floor", floor)
+                    .executeUpdate();
+            Number rows = (Number) entityManager.createNativeQuery("select count(*) from id_generators where sequence_name = 'posts'").getSingleResult();
+            if(rows.intValue() == 0)
+            {
+                entityManager.createNativeQuery("insert into id_generators (sequence_name, next_val) values ('posts', :floor)")
+                        .setParameter("floor", floor)
+                        .executeUpdate();
+                updated = 1;
+            }
+
+            if(updated > 0)
+            {
+                logger.info("Post id generator moved to {} past the highest postId {}", floor, maxPostId);
+            }
+        });
+    }
+}
@@ -1,8 +1,14 @@
 package com.blog_application.blogApp.config;
 
+import com.blog_application.blogApp.cache.PrincipalCache;
+import com.blog_application.blogApp.cache.VerifiedTokenCache;
 import com.blog_application.blogApp.security.CustomUserDetailService;
 import com.blog_application.blogApp.security.JwtAuthenticationFilter;
+import com.blog_application.blogApp.security.BoundedPasswordEncoder;
 import com.blog_application.blogApp.security.JwtTokenHelper;
+import com.blog_application.blogApp.security.PasswordHashingExecutor;
+import com.blog_application.blogApp.security.TokenRevocationList;
+import com.blog_application.blogApp.security.TokenVersionRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,11 +25,19 @@ public class SecurityConfig{
 
     private final CustomUserDetailService customUserDetailService;
     private final JwtTokenHelper jwtTokenHelper;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList tokenRevocationList;
 
-    public SecurityConfig(CustomUserDetailService customUserDetailService, JwtTokenHelper jwtTokenHelper)
+    public SecurityConfig(CustomUserDetailService customUserDetailService, JwtTokenHelper jwtTokenHelper, PrincipalCache principalCache, TokenVersionRegistry tokenVersionRegistry, VerifiedTokenCache verifiedTokenCache, TokenRevocationList tokenRevocationList)
     {
         this.customUserDetailService = customUserDetailService;
         this.jwtTokenHelper = jwtTokenHelper;
+        this.principalCache = principalCache;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     @Bean
@@ -35,12 +49,16 @@ public class SecurityConfig{
                         // Swagger endpoints: allow without authentication
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
 
+                        // Actuator endpoints: cache and other metrics are for admins only
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // Auth endpoints
-                        .requestMatchers("/api/auth/register", "/api/auth/login").permitAll()
+                        .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/refresh", "/api/auth/logout").permitAll()
 
                         // UserController endpoints
                         .requestMatchers("/api/users/update-user").hasAnyRole("USER", "ADMIN")
-                        .requestMatchers("/api/users/create-user", "/api/users/all-users", "/api/users/one-user", "/api/users/delete-user/**").hasRole("ADMIN")
+                        .requestMatchers("/api/users/create-user", "/api/users/all-users", "/api/users/page", "/api/users/export", "/api/users/one-user", "/api/users/delete-user/**").hasRole("ADMIN")
 
                         // CategoryController endpoints
                         .requestMatchers("/api/categories/add-category", "/api/categories/update-category", "/api/categories/delete-category/**").hasRole("ADMIN")
@@ -51,6 +69,7 @@ public class SecurityConfig{
                         .requestMatchers("/api/comments/**").hasAnyRole("USER","ADMIN")
 
                         // PostController endpoints
+                        .requestMatchers( "/api/posts/export", "/api/posts/bulk").hasRole("ADMIN")
                         .requestMatchers( "/api/user/{userId}/category/{categoryId}/posts").hasAnyRole("USER", "ADMIN")
                         .requestMatchers( "/api/posts", "/api/posts/{postId}", "/api/posts/user/{userId}", "/api/posts/category/{categoryId}").hasAnyRole("USER", "ADMIN")
                         .requestMatchers( "/api/posts/update-post").hasAnyRole("USER", "ADMIN")
@@ -62,7 +81,7 @@ public class SecurityConfig{
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
-        http.addFilterBefore(new JwtAuthenticationFilter(jwtTokenHelper,customUserDetailService),
+        http.addFilterBefore(new JwtAuthenticationFilter(jwtTokenHelper,customUserDetailService,principalCache,tokenVersionRegistry,verifiedTokenCache,tokenRevocationList),
                 UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
@@ -73,9 +92,10 @@ public class SecurityConfig{
         return authenticationConfiguration.getAuthenticationManager();
     }
 
+    // BCrypt runs on the bounded hashing pool, not on the request thread
     @Bean
-    public PasswordEncoder passwordEncoder()
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor)
     {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor);
     }
 }
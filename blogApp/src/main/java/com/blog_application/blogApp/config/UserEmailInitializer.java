@@ -0,0 +1,50 @@
+package com.blog_application.blogApp.config;
+
+import com.blog_application.blogApp.entity.User;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Users are looked up by email_normalized. On a database created before that column existed, the schema update adds
+ * it empty for every user, so it is filled from email before the first request. The update only touches rows without
+ * a normalized email, it is a no-op once every user has one.
+ */
+@Component
+public class UserEmailInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserEmailInitializer.class);
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserEmailInitializer(EntityManager entityManager, PlatformTransactionManager transactionManager)
+    {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated()
+    {
+        int updated;
+        try {
+            updated = transactionTemplate.execute(status -> entityManager
+                    .createNativeQuery("update users set email_normalized = lower(trim(email)) where email_normalized is null or email_normalized = ''")
+                    .executeUpdate());
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Some users have emails that only differ in case or surrounding spaces, "
+                    + "they must be merged or renamed before " + User.EMAIL_CONSTRAINT + " can hold", e);
+        }
+
+        if(updated > 0)
+        {
+            logger.info("Filled the normalized email of {} users", updated);
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package com.blog_application.blogApp.controller;
 
+import com.blog_application.blogApp.payloads.ApiResponse;
 import com.blog_application.blogApp.payloads.JwtAuthRequest;
 import com.blog_application.blogApp.payloads.JwtAuthResponse;
+import com.blog_application.blogApp.payloads.RefreshTokenRequest;
 import com.blog_application.blogApp.payloads.UserDto;
+import com.blog_application.blogApp.security.AuthTokenService;
 import com.blog_application.blogApp.security.CustomUserDetailService;
-import com.blog_application.blogApp.security.JwtTokenHelper;
+import com.blog_application.blogApp.security.LoginRateLimiter;
 import com.blog_application.blogApp.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +20,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -25,29 +30,48 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private AuthenticationManager  authenticationManager;
-    private JwtTokenHelper jwtTokenHelper;
+    private AuthTokenService authTokenService;
     private CustomUserDetailService customUserDetailService;
     private UserService userService;
+    private LoginRateLimiter loginRateLimiter;
 
-    public AuthController(AuthenticationManager authenticationManager, JwtTokenHelper jwtTokenHelper, CustomUserDetailService customUserDetailService, UserService userService)
+    public AuthController(AuthenticationManager authenticationManager, AuthTokenService authTokenService, CustomUserDetailService customUserDetailService, UserService userService, LoginRateLimiter loginRateLimiter)
     {
         this.authenticationManager = authenticationManager;
-        this.jwtTokenHelper = jwtTokenHelper;
+        this.authTokenService = authTokenService;
         this.customUserDetailService = customUserDetailService;
         this.userService = userService;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     @PostMapping("/login")
     @Operation(summary = "User Login, Everyone Can Access")
-    public ResponseEntity<JwtAuthResponse> createToken(@Valid @RequestBody JwtAuthRequest request)
+    public ResponseEntity<JwtAuthResponse> createToken(@Valid @RequestBody JwtAuthRequest request, HttpServletRequest httpRequest)
     {
+        // Throttled attempts stop here, before any user lookup or password hashing
+        loginRateLimiter.checkLogin(httpRequest.getRemoteAddr(), request.getEmail());
         authenticate(request.getEmail(), request.getPassword());
 
         UserDetails userDetails = customUserDetailService.loadUserByUsername(request.getEmail());
 
-        String token = jwtTokenHelper.generateToken(userDetails.getUsername());
+        return new ResponseEntity<>(authTokenService.issue(userDetails), HttpStatus.OK);
+    }
 
-        return new ResponseEntity<>(new JwtAuthResponse(token), HttpStatus.OK);
+    @PostMapping("/refresh")
+    @Operation(summary = "Exchange a Refresh Token for a New Token Pair, Everyone Can Access")
+    public ResponseEntity<JwtAuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request)
+    {
+        return new ResponseEntity<>(authTokenService.refresh(request.getRefreshToken()), HttpStatus.OK);
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Revoke the Refresh Token and the Current Access Token, Everyone Can Access")
+    public ResponseEntity<ApiResponse> logout(@Valid @RequestBody RefreshTokenRequest request,
+                                              @RequestHeader(value = "Authorization", required = false) String authorization)
+    {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authTokenService.logout(request.getRefreshToken(), accessToken);
+        return new ResponseEntity<>(new ApiResponse("Logged out successfully", true), HttpStatus.OK);
     }
 
     private void authenticate(String email, String password) {
@@ -0,0 +1,59 @@
+package com.blog_application.blogApp.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes the rows of an export as NDJSON, one JSON object per line. Each row is serialized and written as soon as the
+ * export hands it over, so only the current row is ever in memory, however large the table.
+ */
+@Component
+public class NdjsonStreamer {
+
+    // Lines written between two flushes, so a slow client sees progress without a flush per row
+    private static final int FLUSH_EVERY = 500;
+
+    private final ObjectMapper objectMapper;
+
+    public NdjsonStreamer(ObjectMapper objectMapper)
+    {
+        this.objectMapper = objectMapper;
+    }
+
+    // export hands every row to the consumer it is given, e.g. a service method that walks a database cursor
+    public <T> void write(HttpServletResponse response, Consumer<Consumer<T>> export) throws IOException
+    {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            int[] written = {0};
+            try {
+                export.accept(row -> {
+                    try {
+                        generator.writeObject(row);
+                        generator.writeRaw('\n');
+                        if(++written[0] % FLUSH_EVERY == 0)
+                        {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // The servlet container expects the IOException of a client that went away
+                throw e.getCause();
+            }
+        }
+    }
+}
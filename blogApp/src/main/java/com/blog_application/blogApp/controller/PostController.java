@@ -2,8 +2,11 @@ package com.blog_application.blogApp.controller;
 
 import com.blog_application.blogApp.config.AppConstants;
 import com.blog_application.blogApp.payloads.ApiResponse;
+import com.blog_application.blogApp.payloads.BulkPostResponse;
 import com.blog_application.blogApp.payloads.PostDto;
+import com.blog_application.blogApp.payloads.PostExportDto;
 import com.blog_application.blogApp.payloads.PostResponse;
+import com.blog_application.blogApp.payloads.PostSuggestionDto;
 import com.blog_application.blogApp.service.FileService;
 import com.blog_application.blogApp.service.PostService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -30,14 +34,16 @@ public class PostController {
 
     private PostService postService;
     private FileService fileService;
+    private NdjsonStreamer ndjsonStreamer;
 
     @Value("${project.image}")
     private String path;
 
-    public PostController(PostService postService, FileService fileService)
+    public PostController(PostService postService, FileService fileService, NdjsonStreamer ndjsonStreamer)
     {
         this.postService = postService;
         this.fileService= fileService;
+        this.ndjsonStreamer = ndjsonStreamer;
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
@@ -49,57 +55,130 @@ public class PostController {
         return new ResponseEntity<>(newPostDto, HttpStatus.CREATED);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/posts/bulk")
+    @Operation(summary = "Create up to 1000 Posts in one request, each post names its user and category by id, the result of every post is reported separately, Only Admin Can Have Access")
+    public ResponseEntity<BulkPostResponse> createPosts(@RequestBody List<PostDto> postDtos)
+    {
+        BulkPostResponse bulkPostResponse = postService.createPosts(postDtos);
+        return new ResponseEntity<>(bulkPostResponse, HttpStatus.OK);
+    }
+
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
     @GetMapping("/posts/{postId}")
     @Operation(summary = "Get Single Post by Post Id, Both Admin and User Can Have Access")
-    public ResponseEntity<PostDto> getPostByPostId(@PathVariable Integer postId)
+    public ResponseEntity<PostDto> getPostByPostId(@PathVariable Integer postId, WebRequest webRequest)
     {
+        // The version is read before the post, a write in between only makes the tag older than the body
+        String eTag = "\"" + postService.getPostVersion(postId) + "\"";
+        if(webRequest.checkNotModified(eTag))
+        {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
         PostDto postDto = postService.getPostById(postId);
-        return new ResponseEntity<>(postDto,HttpStatus.FOUND);
+        return ResponseEntity.ok().eTag(eTag).body(postDto);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
     @GetMapping("/posts")
-    @Operation(summary = "Get All Posts, also If want we can perform Paging and Sorting, Both Admin and User Can Have Access")
+    @Operation(summary = "Get All Posts, also If want we can perform Paging and Sorting, pass the nextCursor of a previous response as cursor for keyset paging, withTotals=false skips the count query, Both Admin and User Can Have Access")
     public ResponseEntity<PostResponse> getAllPosts(
             @RequestParam(value = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER,required = false)  Integer pageNumber,
             @RequestParam(value = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(value= "sortBy", defaultValue = AppConstants.SORT_BY, required = false) String sortBy,
-            @RequestParam(value = "sortDir", defaultValue = AppConstants.SORT_DIR, required = false) String sortDir
+            @RequestParam(value = "sortDir", defaultValue = AppConstants.SORT_DIR, required = false) String sortDir,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "withTotals", defaultValue = AppConstants.WITH_TOTALS, required = false) Boolean withTotals,
+            WebRequest webRequest
             )
     {
-        PostResponse postResponse = postService.getAllPosts(pageNumber,pageSize, sortBy, sortDir);
-        return new ResponseEntity<>(postResponse,HttpStatus.FOUND);
+        String eTag = weakETag(postService.getAllPostsVersion());
+        if(webRequest.checkNotModified(eTag))
+        {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        PostResponse postResponse;
+        if(cursor != null)
+        {
+            postResponse = postService.scrollAllPosts(cursor, pageSize, sortBy, sortDir);
+        }else if(withTotals)
+        {
+            postResponse = postService.getAllPosts(pageNumber,pageSize, sortBy, sortDir);
+        }else
+        {
+            postResponse = postService.sliceAllPosts(pageNumber,pageSize, sortBy, sortDir);
+        }
+        return ResponseEntity.ok().eTag(eTag).body(postResponse);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
     @GetMapping("/category/{categoryId}/posts")
-    @Operation(summary = "Get All Posts of Category, also If want we can perform Paging and Sorting, Both Admin and User Can Have Access")
+    @Operation(summary = "Get All Posts of Category, also If want we can perform Paging and Sorting, pass the nextCursor of a previous response as cursor for keyset paging, withTotals=false skips the count query, Both Admin and User Can Have Access")
     public ResponseEntity <PostResponse> getAllPostsByCategory(
             @PathVariable Integer categoryId,
             @RequestParam(value = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER,required = false)  Integer pageNumber,
             @RequestParam(value = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(value= "sortBy", defaultValue = AppConstants.SORT_BY, required = false) String sortBy,
-            @RequestParam(value = "sortDir", defaultValue = AppConstants.SORT_DIR, required = false) String sortDir
+            @RequestParam(value = "sortDir", defaultValue = AppConstants.SORT_DIR, required = false) String sortDir,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "withTotals", defaultValue = AppConstants.WITH_TOTALS, required = false) Boolean withTotals,
+            WebRequest webRequest
             )
     {
-        PostResponse postResponse= postService.getPostsByCategory(categoryId,pageNumber,pageSize, sortBy, sortDir);
-        return new ResponseEntity<>(postResponse,HttpStatus.FOUND);
+        String eTag = weakETag(postService.getPostsByCategoryVersion(categoryId));
+        if(webRequest.checkNotModified(eTag))
+        {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        PostResponse postResponse;
+        if(cursor != null)
+        {
+            postResponse = postService.scrollPostsByCategory(categoryId, cursor, pageSize, sortBy, sortDir);
+        }else if(withTotals)
+        {
+            postResponse = postService.getPostsByCategory(categoryId,pageNumber,pageSize, sortBy, sortDir);
+        }else
+        {
+            postResponse = postService.slicePostsByCategory(categoryId,pageNumber,pageSize, sortBy, sortDir);
+        }
+        return ResponseEntity.ok().eTag(eTag).body(postResponse);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
     @GetMapping("/user/{userId}/posts")
-    @Operation(summary = "Get All Posts of User, also If want we can perform Paging and Sorting, Both Admin and User Can Have Access")
+    @Operation(summary = "Get All Posts of User, also If want we can perform Paging and Sorting, pass the nextCursor of a previous response as cursor for keyset paging, withTotals=false skips the count query, Both Admin and User Can Have Access")
     public ResponseEntity<PostResponse> getAllPostsByUser(
             @PathVariable Integer userId,
             @RequestParam(value = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER,required = false)  Integer pageNumber,
             @RequestParam(value = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(value= "sortBy", defaultValue = AppConstants.SORT_BY, required = false) String sortBy,
-            @RequestParam(value = "sortDir", defaultValue = AppConstants.SORT_DIR, required = false) String sortDir
+            @RequestParam(value = "sortDir", defaultValue = AppConstants.SORT_DIR, required = false) String sortDir,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "withTotals", defaultValue = AppConstants.WITH_TOTALS, required = false) Boolean withTotals,
+            WebRequest webRequest
             )
     {
-        PostResponse postResponse = postService.getPostsByUser(userId,pageNumber,pageSize, sortBy, sortDir);
-        return new ResponseEntity<>(postResponse,HttpStatus.FOUND);
+        String eTag = weakETag(postService.getPostsByUserVersion(userId));
+        if(webRequest.checkNotModified(eTag))
+        {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        PostResponse postResponse;
+        if(cursor != null)
+        {
+            postResponse = postService.scrollPostsByUser(userId, cursor, pageSize, sortBy, sortDir);
+        }else if(withTotals)
+        {
+            postResponse = postService.getPostsByUser(userId,pageNumber,pageSize, sortBy, sortDir);
+        }else
+        {
+            postResponse = postService.slicePostsByUser(userId,pageNumber,pageSize, sortBy, sortDir);
+        }
+        return ResponseEntity.ok().eTag(eTag).body(postResponse);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
@@ -123,11 +202,35 @@ public class PostController {
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
     @GetMapping("/posts/search/{keywords}")
-    @Operation(summary = "Search Post, Both Admin and User Can Have Access")
-    public ResponseEntity<List<PostDto>> searchPostByTitle(@PathVariable String keywords)
+    @Operation(summary = "Search Posts by title and content, ranked by relevance, pass the nextCursor of a previous response as cursor for deep pages, Both Admin and User Can Have Access")
+    public ResponseEntity<PostResponse> searchPostByTitle(
+            @PathVariable String keywords,
+            @RequestParam(value = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER,required = false)  Integer pageNumber,
+            @RequestParam(value = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
+            @RequestParam(value = "cursor", required = false) String cursor
+            )
     {
-        List<PostDto> postDtos = postService.searchPosts(keywords);
-        return new ResponseEntity<>(postDtos,HttpStatus.OK);
+        PostResponse postResponse = postService.searchPosts(keywords, pageNumber, pageSize, cursor);
+        return new ResponseEntity<>(postResponse,HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    @GetMapping("/posts/suggest")
+    @Operation(summary = "Suggest Post titles starting with the typed prefix at any word, most commented first, Both Admin and User Can Have Access")
+    public ResponseEntity<List<PostSuggestionDto>> suggestPosts(
+            @RequestParam(value = "prefix") String prefix,
+            @RequestParam(value = "limit", defaultValue = AppConstants.SUGGEST_LIMIT, required = false) Integer limit
+            )
+    {
+        List<PostSuggestionDto> suggestions = postService.suggestPosts(prefix, limit);
+        return new ResponseEntity<>(suggestions,HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/posts/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all Posts as NDJSON, one post per line, streamed straight from the database, Only Admin Can Have Access")
+    public void exportPosts(HttpServletResponse response) throws IOException {
+        ndjsonStreamer.write(response, postService::exportPosts);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
@@ -136,8 +239,14 @@ public class PostController {
     public ResponseEntity<PostDto> uploadPostImage(@PathVariable Integer postId, @RequestParam MultipartFile image) throws IOException {
         PostDto postDto = postService.getPostById(postId);
         String fileName = fileService.uploadImage(path, image);
-        postDto.setImageName(fileName);
-        PostDto updatedPost = postService.updatePost(postDto);
+
+        // getPostById may hand out the cached instance, so the update goes through a copy
+        PostDto imagePostDto = new PostDto();
+        imagePostDto.setId(postDto.getId());
+        imagePostDto.setTitle(postDto.getTitle());
+        imagePostDto.setContent(postDto.getContent());
+        imagePostDto.setImageName(fileName);
+        PostDto updatedPost = postService.updatePost(imagePostDto);
         return new ResponseEntity<>(updatedPost,HttpStatus.OK);
     }
 
@@ -151,4 +260,9 @@ public class PostController {
 
     }
 
+    // Listing pages are tagged by their scope version only, so the tag is weak: equal pages, not equal bytes
+    private static String weakETag(String version)
+    {
+        return "W/\"" + version + "\"";
+    }
 }
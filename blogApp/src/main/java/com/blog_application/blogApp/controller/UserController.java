@@ -1,27 +1,36 @@
 package com.blog_application.blogApp.controller;
 
+import com.blog_application.blogApp.config.AppConstants;
 import com.blog_application.blogApp.payloads.ApiResponse;
 import com.blog_application.blogApp.payloads.UserDto;
+import com.blog_application.blogApp.payloads.UserPageResponse;
+import com.blog_application.blogApp.payloads.UserSummaryDto;
 import com.blog_application.blogApp.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/users")
 @Tag(name="User APIs", description = "Create - Read - Update - Delete Users")
 public class UserController {
+
     private UserService userService;
+    private NdjsonStreamer ndjsonStreamer;
 
-    public UserController(UserService userService)
+    public UserController(UserService userService, NdjsonStreamer ndjsonStreamer)
     {
         this.userService = userService;
+        this.ndjsonStreamer = ndjsonStreamer;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -42,6 +51,24 @@ public class UserController {
         return new ResponseEntity<>(userDtoList,HttpStatus.FOUND);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/page")
+    @Operation(summary = "Get Users page by page ordered by id, pass the nextCursor of a previous response as cursor for the next page, Only Admin Can Have Access")
+    public ResponseEntity<UserPageResponse> getUsersPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "pageSize", defaultValue = AppConstants.USER_PAGE_SIZE, required = false) Integer pageSize)
+    {
+        UserPageResponse userPageResponse = userService.scrollUsers(cursor, Math.max(1, Math.min(pageSize, AppConstants.USER_PAGE_MAX)));
+        return new ResponseEntity<>(userPageResponse,HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all Users as NDJSON, one user per line, streamed straight from the database, Only Admin Can Have Access")
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        ndjsonStreamer.write(response, userService::exportUsers);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/one-user")
     @Operation(summary = "Get single User, Only Admin Can Have Access")
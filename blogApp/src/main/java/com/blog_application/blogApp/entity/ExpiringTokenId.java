@@ -0,0 +1,56 @@
+package com.blog_application.blogApp.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.util.Date;
+
+/**
+ * A token id (the jti claim) that has to be remembered until the token expires, see {@link RevokedToken} and
+ * {@link UsedRefreshToken}. Rows are always inserted and never merged, so recording the same id twice fails on the
+ * primary key instead of updating.
+ */
+@Getter
+@NoArgsConstructor
+
+@MappedSuperclass
+public abstract class ExpiringTokenId implements Persistable<String> {
+
+    @Id
+    @Column(length = 36)
+    private String tokenId;
+
+    // The row is only needed until the token would have expired anyway
+    @Column(nullable = false)
+    private Date expiresAt;
+
+    @Transient
+    private boolean newEntry = true;
+
+    protected ExpiringTokenId(String tokenId, Date expiresAt)
+    {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String getId()
+    {
+        return tokenId;
+    }
+
+    @Override
+    public boolean isNew()
+    {
+        return newEntry;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew()
+    {
+        this.newEntry = false;
+    }
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Formula;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -15,9 +17,23 @@ import java.util.List;
 
 @Entity
 @Table(name="posts")
+@NamedEntityGraph(
+        name = "Post.detail",
+        attributeNodes = {
+                @NamedAttributeNode(value = "user", subgraph = "Post.user"),
+                @NamedAttributeNode("category")
+        },
+        subgraphs = @NamedSubgraph(name = "Post.user", attributeNodes = @NamedAttributeNode("role"))
+)
 public class Post {
+
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled table ids: one round trip reserves a block of ids, so inserts can be batched, which IDENTITY rules out
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "post_ids")
+    @TableGenerator(name = "post_ids", table = "id_generators", pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "posts", allocationSize = ID_ALLOCATION_SIZE)
     private Integer postId;
 
     @Column(name="post_title", nullable = false)
@@ -26,6 +42,10 @@ public class Post {
     @Column(name="post_content", nullable = false, length = 10000)
     private String content;
 
+    // Computed by the database, so list projections never have to read the full content
+    @Formula("substring(post_content, 1, 200)")
+    private String excerpt;
+
     @Column(columnDefinition = "varchar(255) default 'default-image.jpg' ")
     private String imageName = "default-image.jpg";
 
@@ -40,6 +60,8 @@ public class Post {
     @JoinColumn(name="category_id", nullable = false)
     private Category category;
 
+    // Comments stay out of the entity graph so paging still happens in SQL, they are batch loaded instead
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL)
+    @BatchSize(size = 50)
     private List<Comment> comments = new ArrayList<>();
 }
@@ -0,0 +1,20 @@
+package com.blog_application.blogApp.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+// The jti of an access token revoked before it expired
+@NoArgsConstructor
+
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken extends ExpiringTokenId {
+
+    public RevokedToken(String tokenId, Date expiresAt)
+    {
+        super(tokenId, expiresAt);
+    }
+}
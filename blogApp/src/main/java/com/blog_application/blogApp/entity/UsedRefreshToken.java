@@ -0,0 +1,20 @@
+package com.blog_application.blogApp.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+// The jti of a refresh token that was rotated or logged out
+@NoArgsConstructor
+
+@Entity
+@Table(name = "used_refresh_tokens")
+public class UsedRefreshToken extends ExpiringTokenId {
+
+    public UsedRefreshToken(String tokenId, Date expiresAt)
+    {
+        super(tokenId, expiresAt);
+    }
+}
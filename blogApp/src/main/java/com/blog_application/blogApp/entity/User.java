@@ -1,9 +1,10 @@
 package com.blog_application.blogApp.entity;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,15 +12,17 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 
 @Entity
-@Table(name ="users")
+@Table(name ="users", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email_normalized"))
 public class User implements UserDetails {
 
+    public static final String EMAIL_CONSTRAINT = "uk_users_email_normalized";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -30,6 +33,12 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private String email;
 
+    // Trimmed, lower-cased email behind the unique index, every login and token lookup goes through it.
+    // Always set by setEmail, nullable only so the schema update can add it to an existing table, see UserEmailInitializer
+    @Column(name = "email_normalized")
+    @Setter(AccessLevel.NONE)
+    private String emailNormalized;
+
     @Column(nullable = false)
     private String password;
 
@@ -46,6 +55,34 @@ public class User implements UserDetails {
     @JoinColumn(name = "role_id")
     private Role role;
 
+    // Part of self-contained tokens, bumping it revokes every token issued before
+    @Column(nullable = false)
+    private int tokenVersion;
+
+    public User(Integer id, String name, String email, String password, String about, List<Post> post, List<Comment> comments, Role role, int tokenVersion)
+    {
+        this.id = id;
+        this.name = name;
+        setEmail(email);
+        this.password = password;
+        this.about = about;
+        this.post = post;
+        this.comments = comments;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+    }
+
+    public static String normalizeEmail(String email)
+    {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public void setEmail(String email)
+    {
+        this.email = email;
+        this.emailNormalized = normalizeEmail(email);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority(role.getName()));
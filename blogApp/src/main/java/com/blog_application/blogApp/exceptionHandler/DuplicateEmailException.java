@@ -0,0 +1,8 @@
+package com.blog_application.blogApp.exceptionHandler;
+
+public class DuplicateEmailException extends RuntimeException{
+    public DuplicateEmailException(String message)
+    {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.blog_application.blogApp.exceptionHandler;
 
 import com.blog_application.blogApp.payloads.ApiResponse;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -72,6 +73,12 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiResponse,HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(DuplicateEmailException.class)
+    public ResponseEntity<ApiResponse> duplicateEmailExceptionHandler(DuplicateEmailException ex)
+    {
+        return new ResponseEntity<>(new ApiResponse(ex.getMessage(),false),HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ApiResponse> dataIntegrityViolationException(DataIntegrityViolationException ex)
     {
@@ -96,6 +103,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(new ApiResponse(ex.getMessage(),false),HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse> invalidCursorExceptionHandler(InvalidCursorException ex)
+    {
+        return new ResponseEntity<>(new ApiResponse(ex.getMessage(),false),HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse> tooManyRequestsExceptionHandler(TooManyRequestsException ex)
+    {
+        long seconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(new ApiResponse(ex.getMessage(),false));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse> globalExceptionHandler(Exception  ex)
     {
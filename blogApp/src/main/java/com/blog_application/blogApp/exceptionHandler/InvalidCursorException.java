@@ -0,0 +1,8 @@
+package com.blog_application.blogApp.exceptionHandler;
+
+public class InvalidCursorException extends RuntimeException{
+    public InvalidCursorException(String message)
+    {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.blog_application.blogApp.exceptionHandler;
+
+import java.time.Duration;
+
+public class TooManyRequestsException extends RuntimeException{
+
+    // Sent as Retry-After, rounded up to whole seconds
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message)
+    {
+        this(message, Duration.ofSeconds(1));
+    }
+
+    public TooManyRequestsException(String message, Duration retryAfter)
+    {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter()
+    {
+        return retryAfter;
+    }
+}
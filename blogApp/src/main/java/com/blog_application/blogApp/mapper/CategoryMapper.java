@@ -0,0 +1,15 @@
+package com.blog_application.blogApp.mapper;
+
+import com.blog_application.blogApp.entity.Category;
+import com.blog_application.blogApp.payloads.CategoryDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapperConfiguration.class)
+public interface CategoryMapper {
+
+    CategoryDto toDto(Category category);
+
+    @Mapping(target = "posts", ignore = true)
+    Category toEntity(CategoryDto categoryDto);
+}
@@ -0,0 +1,19 @@
+package com.blog_application.blogApp.mapper;
+
+import com.blog_application.blogApp.entity.Comment;
+import com.blog_application.blogApp.payloads.CommentDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapperConfiguration.class, uses = UserMapper.class)
+public interface CommentMapper {
+
+    @Mapping(target = "id", source = "commentId")
+    CommentDto toDto(Comment comment);
+
+    // The author and the post are attached by the service
+    @Mapping(target = "commentId", source = "id")
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "post", ignore = true)
+    Comment toEntity(CommentDto commentDto);
+}
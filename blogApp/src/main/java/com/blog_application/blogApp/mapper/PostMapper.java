@@ -0,0 +1,21 @@
+package com.blog_application.blogApp.mapper;
+
+import com.blog_application.blogApp.entity.Post;
+import com.blog_application.blogApp.payloads.PostDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapperConfiguration.class, uses = {UserMapper.class, CategoryMapper.class, CommentMapper.class})
+public interface PostMapper {
+
+    @Mapping(target = "id", source = "postId")
+    PostDto toDto(Post post);
+
+    // Only the editable columns come from the request, the associations are attached by the service
+    @Mapping(target = "postId", source = "id")
+    @Mapping(target = "excerpt", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "category", ignore = true)
+    @Mapping(target = "comments", ignore = true)
+    Post toEntity(PostDto postDto);
+}
@@ -0,0 +1,21 @@
+package com.blog_application.blogApp.mapper;
+
+import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.payloads.UserDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapperConfiguration.class)
+public interface UserMapper {
+
+    @Mapping(target = "roleName", source = "role.name")
+    UserDto toDto(User user);
+
+    // The role is resolved by the service, posts and comments are never written through a user, the token version never leaves the server
+    @Mapping(target = "role", ignore = true)
+    @Mapping(target = "post", ignore = true)
+    @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "authorities", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
+    User toEntity(UserDto userDto);
+}
@@ -0,0 +1,19 @@
+package com.blog_application.blogApp.payloads;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPostResponse {
+
+    private Integer created;
+
+    private Integer failed;
+
+    private List<BulkPostResult> results;
+}
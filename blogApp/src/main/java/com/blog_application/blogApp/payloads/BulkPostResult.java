@@ -0,0 +1,20 @@
+package com.blog_application.blogApp.payloads;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of one post of a bulk request, index is its position in the request
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPostResult {
+
+    private Integer index;
+
+    private Boolean success;
+
+    private Integer id;
+
+    private String message;
+}
@@ -9,4 +9,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class JwtAuthResponse {
     private String token;
+
+    // Exchanged at /api/auth/refresh for a new pair once the access token expired, valid for one use
+    private String refreshToken;
 }
@@ -0,0 +1,28 @@
+package com.blog_application.blogApp.payloads;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+// One line of the NDJSON export, the author and category are flattened to their names
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostExportDto {
+
+    private Integer id;
+
+    private String title;
+
+    private String content;
+
+    private String imageName;
+
+    private Date addedDate;
+
+    private String authorName;
+
+    private String categoryTitle;
+}
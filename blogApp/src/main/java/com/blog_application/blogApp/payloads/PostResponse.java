@@ -11,10 +11,11 @@ import java.util.List;
 @AllArgsConstructor
 public class PostResponse {
 
-    private List<PostDto> content;
+    private List<PostSummaryDto> content;
     private Integer pageNumber;
     private Integer pageSize;
     private Long totalElements;
     private Integer totalPages;
     private Boolean lastPage;
+    private String nextCursor;
 }
@@ -0,0 +1,15 @@
+package com.blog_application.blogApp.payloads;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSuggestionDto {
+
+    private Integer id;
+
+    private String title;
+}
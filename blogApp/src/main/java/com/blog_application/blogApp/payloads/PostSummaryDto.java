@@ -0,0 +1,35 @@
+package com.blog_application.blogApp.payloads;
+
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+public class PostSummaryDto {
+
+    private Integer id;
+
+    private String title;
+
+    private String excerpt;
+
+    private String imageName;
+
+    private Date addedDate;
+
+    private String authorName;
+
+    private String categoryTitle;
+
+    // Spring Data selects the columns by these parameter names, userName and categoryCategoryTitle are the paths user.name and category.categoryTitle
+    public PostSummaryDto(Integer postId, String title, String excerpt, String imageName, Date addedDate, String userName, String categoryCategoryTitle)
+    {
+        this.id = postId;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.imageName = imageName;
+        this.addedDate = addedDate;
+        this.authorName = userName;
+        this.categoryTitle = categoryCategoryTitle;
+    }
+}
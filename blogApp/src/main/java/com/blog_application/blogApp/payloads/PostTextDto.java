@@ -0,0 +1,18 @@
+package com.blog_application.blogApp.payloads;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Only the columns the search index and the title trie are built from
+@Data
+@AllArgsConstructor
+public class PostTextDto {
+
+    private Integer postId;
+
+    private String title;
+
+    private String content;
+
+    private Integer commentCount;
+}
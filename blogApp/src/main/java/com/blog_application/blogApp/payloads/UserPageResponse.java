@@ -0,0 +1,18 @@
+package com.blog_application.blogApp.payloads;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponse {
+
+    private List<UserSummaryDto> content;
+    private Integer pageSize;
+    private Boolean lastPage;
+    private String nextCursor;
+}
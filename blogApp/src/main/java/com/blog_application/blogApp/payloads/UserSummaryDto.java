@@ -0,0 +1,28 @@
+package com.blog_application.blogApp.payloads;
+
+import lombok.Data;
+
+// Admin listing row, never the password and never the posts or comments of the user
+@Data
+public class UserSummaryDto {
+
+    private Integer id;
+
+    private String name;
+
+    private String email;
+
+    private String about;
+
+    private String roleName;
+
+    // Spring Data selects the columns by these parameter names, roleName is the path role.name
+    public UserSummaryDto(Integer id, String name, String email, String about, String roleName)
+    {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.about = about;
+        this.roleName = roleName;
+    }
+}
@@ -0,0 +1,20 @@
+package com.blog_application.blogApp.repository;
+
+import com.blog_application.blogApp.entity.ExpiringTokenId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+@NoRepositoryBean
+public interface ExpiringTokenIdRepository<T extends ExpiringTokenId> extends JpaRepository<T, String> {
+
+    @Modifying
+    @Transactional
+    @Query("delete from #{#entityName} t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") Date now);
+}
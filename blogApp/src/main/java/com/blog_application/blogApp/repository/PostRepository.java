@@ -3,18 +3,55 @@ package com.blog_application.blogApp.repository;
 import com.blog_application.blogApp.entity.Category;
 import com.blog_application.blogApp.entity.Post;
 import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.payloads.PostSummaryDto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post,Integer> {
+public interface PostRepository extends JpaRepository<Post,Integer>, PostStreamRepository {
 
-     Page<Post> findByUser(User user, Pageable pageable);
-     Page<Post> findByCategory(Category category, Pageable pageable);
-     List<Post> findByTitleContaining(String title);
+     // Single post reads fetch user, role and category in the same select as the post
+     @Override
+     @EntityGraph("Post.detail")
+     Optional<Post> findById(Integer postId);
+
+     // A page of search hits is loaded by id in one select, the ids come ranked from the in-memory search index
+     List<PostSummaryDto> findSummaryByPostIdIn(Collection<Integer> postIds);
+
+     // Posts a user or category delete cascades to, read before the delete so they can leave the in-memory indexes too
+     @Query("select p.postId from Post p where p.user = :user")
+     List<Integer> findPostIdsByUser(@Param("user") User user);
+
+     @Query("select p.postId from Post p where p.category = :category")
+     List<Integer> findPostIdsByCategory(@Param("category") Category category);
+
+     // Listings select only the PostSummaryDto columns, never the content or the comments
+     Page<PostSummaryDto> findSummaryBy(Pageable pageable);
+     Page<PostSummaryDto> findSummaryByUser(User user, Pageable pageable);
+     Page<PostSummaryDto> findSummaryByCategory(Category category, Pageable pageable);
+
+     // Slice variants skip the count query, they only read one extra row to know if a next page exists
+     Slice<PostSummaryDto> findSummarySliceBy(Pageable pageable);
+     Slice<PostSummaryDto> findSummarySliceByUser(User user, Pageable pageable);
+     Slice<PostSummaryDto> findSummarySliceByCategory(Category category, Pageable pageable);
+
+     // Keyset (seek) variants, the position carries the (sortKey, postId) of the last row already returned
+     Window<PostSummaryDto> findSummaryBy(ScrollPosition position, Limit limit, Sort sort);
+     Window<PostSummaryDto> findSummaryByUser(User user, ScrollPosition position, Limit limit, Sort sort);
+     Window<PostSummaryDto> findSummaryByCategory(Category category, ScrollPosition position, Limit limit, Sort sort);
 
 }
@@ -0,0 +1,16 @@
+package com.blog_application.blogApp.repository;
+
+import com.blog_application.blogApp.payloads.PostExportDto;
+import com.blog_application.blogApp.payloads.PostTextDto;
+
+import java.util.stream.Stream;
+
+// Whole-table reads of posts, the rows are handed over as the driver reads them, see StreamingFetch
+public interface PostStreamRepository {
+
+    // Feeds the search index and the title trie at startup
+    Stream<PostTextDto> streamText();
+
+    // Admin export, rows come out as DTOs so nothing piles up in the persistence context however many posts there are
+    Stream<PostExportDto> streamExport();
+}
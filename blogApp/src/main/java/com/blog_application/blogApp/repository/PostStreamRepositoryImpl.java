@@ -0,0 +1,36 @@
+package com.blog_application.blogApp.repository;
+
+import com.blog_application.blogApp.payloads.PostExportDto;
+import com.blog_application.blogApp.payloads.PostTextDto;
+import jakarta.persistence.EntityManager;
+
+import javax.sql.DataSource;
+import java.util.stream.Stream;
+
+class PostStreamRepositoryImpl implements PostStreamRepository {
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    PostStreamRepositoryImpl(EntityManager entityManager, DataSource dataSource)
+    {
+        this.entityManager = entityManager;
+        this.fetchSize = StreamingFetch.fetchSize(dataSource);
+    }
+
+    @Override
+    public Stream<PostTextDto> streamText()
+    {
+        return StreamingFetch.stream(entityManager.createQuery(
+                "select new com.blog_application.blogApp.payloads.PostTextDto(p.postId, p.title, p.content, size(p.comments)) from Post p",
+                PostTextDto.class), fetchSize);
+    }
+
+    @Override
+    public Stream<PostExportDto> streamExport()
+    {
+        return StreamingFetch.stream(entityManager.createQuery(
+                "select new com.blog_application.blogApp.payloads.PostExportDto(p.postId, p.title, p.content, p.imageName, p.addedDate, u.name, c.categoryTitle) from Post p join p.user u join p.category c order by p.postId",
+                PostExportDto.class), fetchSize);
+    }
+}
@@ -0,0 +1,14 @@
+package com.blog_application.blogApp.repository;
+
+import com.blog_application.blogApp.entity.RevokedToken;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends ExpiringTokenIdRepository<RevokedToken> {
+
+    @Query("select r.tokenId from RevokedToken r")
+    List<String> findAllTokenIds();
+}
@@ -0,0 +1,45 @@
+package com.blog_application.blogApp.repository;
+
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.stream.Stream;
+
+/**
+ * Fetch size of the queries that stream a whole table: the exports and the startup scans. MySQL Connector/J buffers
+ * the whole result for any positive fetch size unless useCursorFetch is set on the connection, which would put every
+ * statement on server-side cursors. Integer.MIN_VALUE makes it stream rows one by one for this statement only. Other
+ * databases reject a negative fetch size and get batches of {@link #BATCH_FETCH_SIZE} rows.
+ */
+final class StreamingFetch {
+
+    static final int BATCH_FETCH_SIZE = 500;
+
+    private StreamingFetch()
+    {
+    }
+
+    static int fetchSize(DataSource dataSource)
+    {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return fetchSize(product);
+        } catch (MetaDataAccessException e) {
+            return BATCH_FETCH_SIZE;
+        }
+    }
+
+    static int fetchSize(String databaseProductName)
+    {
+        return "MySQL".equalsIgnoreCase(databaseProductName) ? Integer.MIN_VALUE : BATCH_FETCH_SIZE;
+    }
+
+    static <T> Stream<T> stream(TypedQuery<T> query, int fetchSize)
+    {
+        return query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize).getResultStream();
+    }
+}
@@ -0,0 +1,8 @@
+package com.blog_application.blogApp.repository;
+
+import com.blog_application.blogApp.entity.UsedRefreshToken;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UsedRefreshTokenRepository extends ExpiringTokenIdRepository<UsedRefreshToken> {
+}
@@ -1,12 +1,31 @@
 package com.blog_application.blogApp.repository;
 
 import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.payloads.UserSummaryDto;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User,Integer> {
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User,Integer>, UserStreamRepository {
+    // The role is fetched in the same statement, authentication is one point lookup on the unique index
+    @EntityGraph(attributePaths = "role")
+    Optional<User> findByEmailNormalized(String emailNormalized);
+
+    default Optional<User> findByEmail(String email)
+    {
+        return findByEmailNormalized(User.normalizeEmail(email));
+    }
+
+    List<UserTokenVersion> findByTokenVersionGreaterThan(int tokenVersion);
+
+    // Admin listing, a seek on the primary key that only selects the UserSummaryDto columns
+    Window<UserSummaryDto> findSummaryBy(ScrollPosition position, Limit limit, Sort sort);
 }
@@ -0,0 +1,15 @@
+package com.blog_application.blogApp.repository;
+
+import com.blog_application.blogApp.payloads.UserSummaryDto;
+
+import java.util.stream.Stream;
+
+// Whole-table reads of users, the rows are handed over as the driver reads them, see StreamingFetch
+public interface UserStreamRepository {
+
+    // Every live user id, read once at startup so tokens of deleted users can be told apart
+    Stream<Integer> streamIds();
+
+    // The NDJSON export in id order, with the role name joined in so a row needs no further select
+    Stream<UserSummaryDto> streamSummaries();
+}
@@ -0,0 +1,33 @@
+package com.blog_application.blogApp.repository;
+
+import com.blog_application.blogApp.payloads.UserSummaryDto;
+import jakarta.persistence.EntityManager;
+
+import javax.sql.DataSource;
+import java.util.stream.Stream;
+
+class UserStreamRepositoryImpl implements UserStreamRepository {
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    UserStreamRepositoryImpl(EntityManager entityManager, DataSource dataSource)
+    {
+        this.entityManager = entityManager;
+        this.fetchSize = StreamingFetch.fetchSize(dataSource);
+    }
+
+    @Override
+    public Stream<Integer> streamIds()
+    {
+        return StreamingFetch.stream(entityManager.createQuery("select u.id from User u", Integer.class), fetchSize);
+    }
+
+    @Override
+    public Stream<UserSummaryDto> streamSummaries()
+    {
+        return StreamingFetch.stream(entityManager.createQuery(
+                "select new com.blog_application.blogApp.payloads.UserSummaryDto(u.id, u.name, u.email, u.about, r.name) from User u left join u.role r order by u.id",
+                UserSummaryDto.class), fetchSize);
+    }
+}
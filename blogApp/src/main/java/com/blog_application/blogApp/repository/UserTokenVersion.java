@@ -0,0 +1,9 @@
+package com.blog_application.blogApp.repository;
+
+// Projection of the users whose tokens were revoked at least once
+public interface UserTokenVersion {
+
+    Integer getId();
+
+    int getTokenVersion();
+}
@@ -0,0 +1,31 @@
+package com.blog_application.blogApp.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Drops deleted posts from every in-memory post index. A post delete and the user and category deletes that cascade
+ * to posts all go through here, so an index added later cannot be missed by one of them.
+ */
+@Component
+public class PostIndexes {
+
+    private final PostSearchIndex postSearchIndex;
+    private final PostTitleTrie postTitleTrie;
+
+    public PostIndexes(PostSearchIndex postSearchIndex, PostTitleTrie postTitleTrie)
+    {
+        this.postSearchIndex = postSearchIndex;
+        this.postTitleTrie = postTitleTrie;
+    }
+
+    public void evict(Collection<Integer> postIds)
+    {
+        for(Integer postId : postIds)
+        {
+            postSearchIndex.remove(postId);
+            postTitleTrie.remove(postId);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.blog_application.blogApp.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over post titles and contents. Every term maps to a {@link PostingList} of the posts that
+ * contain it, with the term frequency per field, stored as sorted primitive arrays. A forward entry per post remembers
+ * its posting lists so an update or a delete only touches those. Searches share a read lock, writes take the write
+ * lock.
+ * <p>
+ * Hits are ranked with BM25 over a single virtual field in which every title term counts {@link #TITLE_BOOST}
+ * times, and only the requested page is selected, through a heap bounded by the page end. The posting lists of the
+ * query terms are merged by post id, so every hit is scored once straight into that heap, nothing is kept per
+ * matching post, and a query uses at most {@link #MAX_QUERY_TERMS} distinct terms.
+ */
+@Component
+public class PostSearchIndex {
+
+    static final int TITLE_BOOST = 3;
+    static final int MAX_QUERY_TERMS = 16;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Best first: higher score, then lower postId so equal scores still have a stable order
+    static final Comparator<ScoredPost> RANKING = Comparator.comparingDouble(ScoredPost::score).reversed()
+            .thenComparing(ScoredPost::postId);
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Integer, IndexedPost> posts = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    // Adds the post or replaces what was indexed for it before
+    public void index(Integer postId, String title, String content)
+    {
+        List<String> titleTerms = SearchTokenizer.tokenize(title);
+        List<String> contentTerms = SearchTokenizer.tokenize(content);
+
+        // Title and content frequency per term of this post
+        Map<String, int[]> frequencies = new HashMap<>();
+        for(String term : titleTerms)
+        {
+            frequencies.computeIfAbsent(term, t -> new int[2])[0]++;
+        }
+        for(String term : contentTerms)
+        {
+            frequencies.computeIfAbsent(term, t -> new int[2])[1]++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removePostings(postId);
+            PostingList[] lists = new PostingList[frequencies.size()];
+            int i = 0;
+            for(Map.Entry<String, int[]> entry : frequencies.entrySet())
+            {
+                PostingList list = postings.computeIfAbsent(entry.getKey(), PostingList::new);
+                list.put(postId, entry.getValue()[0], entry.getValue()[1]);
+                lists[i++] = list;
+            }
+            IndexedPost indexedPost = new IndexedPost(lists, TITLE_BOOST * titleTerms.size() + contentTerms.size());
+            posts.put(postId, indexedPost);
+            totalLength += indexedPost.length();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer postId)
+    {
+        lock.writeLock().lock();
+        try {
+            removePostings(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear()
+    {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            posts.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size()
+    {
+        lock.readLock().lock();
+        try {
+            return posts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks every post containing at least one query term and returns the hits at [skip, skip + limit) of the
+     * ranking, counting only hits that rank after {@code after} when it is given. Memory stays at skip + limit
+     * entries however common the terms are, a cursor (after) keeps it at limit for any depth.
+     */
+    public SearchHits search(String query, ScoredPost after, int skip, int limit)
+    {
+        List<String> terms = SearchTokenizer.tokenize(query).stream().distinct().limit(MAX_QUERY_TERMS).toList();
+        if(terms.isEmpty() || skip < 0 || limit <= 0)
+        {
+            return new SearchHits(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for(String term : terms)
+            {
+                PostingList list = postings.get(term);
+                if(list != null)
+                {
+                    lists.add(list);
+                }
+            }
+            double[] idfs = new double[lists.size()];
+            for(int j = 0; j < lists.size(); j++)
+            {
+                idfs[j] = Math.log(1 + (posts.size() - lists.get(j).size() + 0.5) / (lists.get(j).size() + 0.5));
+            }
+            double averageLength = posts.isEmpty() ? 0 : (double) totalLength / posts.size();
+
+            // Never more than every post, however far skip reaches
+            int window = (int) Math.min((long) skip + limit, posts.size());
+            PriorityQueue<ScoredPost> heap = new PriorityQueue<>(window + 1, RANKING.reversed());
+            int totalHits = 0;
+            // Position in each posting list, all of them advance in post id order
+            int[] positions = new int[lists.size()];
+            while(true)
+            {
+                int postId = 0;
+                boolean found = false;
+                for(int j = 0; j < lists.size(); j++)
+                {
+                    if(positions[j] < lists.get(j).size() && (!found || lists.get(j).postId(positions[j]) < postId))
+                    {
+                        postId = lists.get(j).postId(positions[j]);
+                        found = true;
+                    }
+                }
+                if(!found)
+                {
+                    break;
+                }
+
+                double lengthNorm = 1 - B + B * posts.get(postId).length() / averageLength;
+                double score = 0;
+                for(int j = 0; j < lists.size(); j++)
+                {
+                    PostingList list = lists.get(j);
+                    int position = positions[j];
+                    if(position < list.size() && list.postId(position) == postId)
+                    {
+                        double frequency = TITLE_BOOST * list.titleFrequency(position) + list.contentFrequency(position);
+                        score += idfs[j] * frequency * (K1 + 1) / (frequency + K1 * lengthNorm);
+                        positions[j]++;
+                    }
+                }
+
+                ScoredPost hit = new ScoredPost(postId, score);
+                if(after != null && RANKING.compare(hit, after) <= 0)
+                {
+                    continue;
+                }
+                totalHits++;
+                // The heap top is the worst of the best window hits seen so far
+                if(heap.size() < window)
+                {
+                    heap.add(hit);
+                }else if(RANKING.compare(hit, heap.peek()) < 0)
+                {
+                    heap.poll();
+                    heap.add(hit);
+                }
+            }
+
+            List<ScoredPost> ranked = new ArrayList<>(heap);
+            ranked.sort(RANKING);
+            List<ScoredPost> page = skip >= ranked.size() ? List.of() : List.copyOf(ranked.subList(skip, ranked.size()));
+            return new SearchHits(page, totalHits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removePostings(Integer postId)
+    {
+        IndexedPost indexedPost = posts.remove(postId);
+        if(indexedPost == null)
+        {
+            return;
+        }
+        totalLength -= indexedPost.length();
+        for(PostingList list : indexedPost.lists())
+        {
+            list.remove(postId);
+            // Only posts in the list refer to it, an empty list is not referenced any more
+            if(list.isEmpty())
+            {
+                postings.remove(list.term());
+            }
+        }
+    }
+
+    // length is the boosted length, the same way term frequencies are boosted
+    record IndexedPost(PostingList[] lists, int length) {
+    }
+}
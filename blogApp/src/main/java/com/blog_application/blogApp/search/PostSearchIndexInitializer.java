@@ -0,0 +1,63 @@
+package com.blog_application.blogApp.search;
+
+import com.blog_application.blogApp.payloads.PostTextDto;
+import com.blog_application.blogApp.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Fills the search index and the title trie from the database once all beans exist, which is before the web server
+ * starts taking requests, so no write can interleave with the scan. Rows are streamed, the posts table is never
+ * held in memory.
+ */
+@Component
+public class PostSearchIndexInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchIndexInitializer.class);
+
+    private final PostRepository postRepository;
+    private final PostSearchIndex postSearchIndex;
+    private final PostTitleTrie postTitleTrie;
+    private final TransactionTemplate transactionTemplate;
+
+    public PostSearchIndexInitializer(PostRepository postRepository, PostSearchIndex postSearchIndex, PostTitleTrie postTitleTrie, PlatformTransactionManager transactionManager)
+    {
+        this.postRepository = postRepository;
+        this.postSearchIndex = postSearchIndex;
+        this.postTitleTrie = postTitleTrie;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated()
+    {
+        rebuild();
+    }
+
+    public void rebuild()
+    {
+        long start = System.nanoTime();
+        postSearchIndex.clear();
+        postTitleTrie.clear();
+
+        // A repository stream needs an open transaction for as long as it is consumed
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<PostTextDto> posts = postRepository.streamText()) {
+                posts.forEach(post -> {
+                    postSearchIndex.index(post.getPostId(), post.getTitle(), post.getContent());
+                    // Comments are the popularity signal of the typeahead
+                    postTitleTrie.index(post.getPostId(), post.getTitle(), post.getCommentCount());
+                });
+            }
+        });
+
+        logger.info("Search index and title trie built with {} posts in {} ms", postSearchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,336 @@
+package com.blog_application.blogApp.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed prefix trie (radix tree) of normalized post titles for typeahead. A title is stored under every
+ * word start, so "cup" finds "World Cup Final". Every node keeps the {@link #TOP_N} most popular posts of its
+ * subtree, a lookup is a walk down the prefix and a copy of that list, independent of the number of posts.
+ * An insert only offers the post to the lists on its paths, a removal recomputes them bottom-up.
+ */
+@Component
+public class PostTitleTrie {
+
+    public static final int TOP_N = 10;
+
+    // Most popular first, newer posts first among equals
+    private static final Comparator<Suggestion> RANKING = Comparator.comparingInt(Suggestion::popularity).reversed()
+            .thenComparing(Suggestion::postId, Comparator.reverseOrder());
+
+    private final Node root = new Node("");
+    private final Map<Integer, Suggestion> posts = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void index(Integer postId, String title, int popularity)
+    {
+        lock.writeLock().lock();
+        try {
+            removePost(postId);
+            addPost(new Suggestion(postId, title, popularity));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Keeps the popularity the post already has
+    public void updateTitle(Integer postId, String title)
+    {
+        lock.writeLock().lock();
+        try {
+            Suggestion old = removePost(postId);
+            addPost(new Suggestion(postId, title, old == null ? 0 : old.popularity()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addPopularity(Integer postId, int delta)
+    {
+        lock.writeLock().lock();
+        try {
+            Suggestion old = removePost(postId);
+            if(old != null)
+            {
+                addPost(new Suggestion(postId, old.title(), Math.max(0, old.popularity() + delta)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer postId)
+    {
+        lock.writeLock().lock();
+        try {
+            removePost(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear()
+    {
+        lock.writeLock().lock();
+        try {
+            root.children.clear();
+            root.terminals.clear();
+            root.top = List.of();
+            posts.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size()
+    {
+        lock.readLock().lock();
+        try {
+            return posts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit)
+    {
+        String key = normalizePrefix(prefix);
+        if(key.isEmpty() || limit <= 0)
+        {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int i = 0;
+            while(i < key.length())
+            {
+                Node child = node.children.get(key.charAt(i));
+                if(child == null)
+                {
+                    return List.of();
+                }
+                int common = commonPrefix(child.label, key, i);
+                if(i + common == key.length())
+                {
+                    // The prefix ends on or inside this edge, everything below matches
+                    return child.top.subList(0, Math.min(limit, child.top.size()));
+                }
+                if(common < child.label.length())
+                {
+                    return List.of();
+                }
+                node = child;
+                i += common;
+            }
+            return List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // A trailing separator is kept as a space, so "indian " only matches the whole word
+    static String normalizePrefix(String prefix)
+    {
+        String key = String.join(" ", SearchTokenizer.tokenize(prefix));
+        boolean wordEnded = !key.isEmpty() && !Character.isLetterOrDigit(prefix.charAt(prefix.length() - 1));
+        return wordEnded ? key + " " : key;
+    }
+
+    private static List<String> keysOf(String title)
+    {
+        List<String> words = SearchTokenizer.tokenize(title);
+        List<String> keys = new ArrayList<>(words.size());
+        for(int i = 0; i < words.size(); i++)
+        {
+            keys.add(String.join(" ", words.subList(i, words.size())));
+        }
+        return keys;
+    }
+
+    private void addPost(Suggestion suggestion)
+    {
+        posts.put(suggestion.postId(), suggestion);
+        for(String key : keysOf(suggestion.title()))
+        {
+            List<Node> path = insert(key);
+            path.get(path.size() - 1).terminals.put(suggestion.postId(), suggestion);
+            for(Node node : path)
+            {
+                node.top = offer(node.top, suggestion);
+            }
+        }
+    }
+
+    private Suggestion removePost(Integer postId)
+    {
+        Suggestion old = posts.remove(postId);
+        if(old != null)
+        {
+            for(String key : keysOf(old.title()))
+            {
+                removeKey(key, postId);
+            }
+        }
+        return old;
+    }
+
+    // Returns the nodes from the root to the node of the key, creating or splitting edges on the way
+    private List<Node> insert(String key)
+    {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while(i < key.length())
+        {
+            Node child = node.children.get(key.charAt(i));
+            if(child == null)
+            {
+                child = new Node(key.substring(i));
+                node.children.put(child.label.charAt(0), child);
+                path.add(child);
+                return path;
+            }
+
+            int common = commonPrefix(child.label, key, i);
+            if(common < child.label.length())
+            {
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                middle.top = child.top;
+                node.children.put(middle.label.charAt(0), middle);
+                child = middle;
+            }
+            node = child;
+            path.add(node);
+            i += common;
+        }
+        return path;
+    }
+
+    private void removeKey(String key, Integer postId)
+    {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while(i < key.length())
+        {
+            node = node.children.get(key.charAt(i));
+            if(node == null || !key.startsWith(node.label, i))
+            {
+                return;
+            }
+            path.add(node);
+            i += node.label.length();
+        }
+        node.terminals.remove(postId);
+
+        // Keep the tree compressed: drop empty leaves and fold single-child chains back into one edge
+        if(node != root && node.terminals.isEmpty() && node.children.isEmpty())
+        {
+            path.remove(path.size() - 1);
+            Node parent = path.get(path.size() - 1);
+            parent.children.remove(node.label.charAt(0));
+            node = parent;
+        }
+        if(node != root && node.terminals.isEmpty() && node.children.size() == 1)
+        {
+            Node child = node.children.values().iterator().next();
+            node.label = node.label + child.label;
+            node.children.clear();
+            node.children.putAll(child.children);
+            node.terminals.putAll(child.terminals);
+            node.top = child.top;
+        }
+        recompute(path);
+    }
+
+    private static List<Suggestion> offer(List<Suggestion> top, Suggestion suggestion)
+    {
+        for(Suggestion existing : top)
+        {
+            if(existing.postId().equals(suggestion.postId()))
+            {
+                return top;
+            }
+        }
+        if(top.size() == TOP_N && RANKING.compare(suggestion, top.get(TOP_N - 1)) >= 0)
+        {
+            return top;
+        }
+
+        List<Suggestion> offered = new ArrayList<>(top.size() + 1);
+        offered.addAll(top);
+        int position = 0;
+        while(position < offered.size() && RANKING.compare(offered.get(position), suggestion) < 0)
+        {
+            position++;
+        }
+        offered.add(position, suggestion);
+        return List.copyOf(offered.subList(0, Math.min(TOP_N, offered.size())));
+    }
+
+    private void recompute(List<Node> path)
+    {
+        for(int i = path.size() - 1; i >= 0; i--)
+        {
+            Node node = path.get(i);
+            List<Suggestion> candidates = new ArrayList<>(node.terminals.values());
+            for(Node child : node.children.values())
+            {
+                candidates.addAll(child.top);
+            }
+            candidates.sort(RANKING);
+
+            // A post reached through two of its keys must only count once
+            Map<Integer, Suggestion> best = new LinkedHashMap<>();
+            for(Suggestion candidate : candidates)
+            {
+                if(best.size() == TOP_N)
+                {
+                    break;
+                }
+                best.putIfAbsent(candidate.postId(), candidate);
+            }
+            node.top = List.copyOf(best.values());
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int offset)
+    {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while(i < max && label.charAt(i) == key.charAt(offset + i))
+        {
+            i++;
+        }
+        return i;
+    }
+
+    public record Suggestion(Integer postId, String title, int popularity) {
+    }
+
+    private static final class Node {
+
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>();
+        private final Map<Integer, Suggestion> terminals = new HashMap<>();
+        private List<Suggestion> top = List.of();
+
+        private Node(String label)
+        {
+            this.label = label;
+        }
+    }
+}
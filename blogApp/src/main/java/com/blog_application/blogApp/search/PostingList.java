@@ -0,0 +1,98 @@
+package com.blog_application.blogApp.search;
+
+import java.util.Arrays;
+
+/**
+ * Posting list of one term: the ids of the posts containing it, sorted ascending in an int[], and next to each the
+ * title and content frequency packed into one int. About 8 bytes a posting instead of a boxed key, a map node and a
+ * record. New posts have the highest ids so they are appended, other writes shift the tail with one array copy.
+ * Not thread-safe, {@link PostSearchIndex} guards it with its lock.
+ */
+final class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int MAX_FREQUENCY = 0xFFFF;
+
+    private final String term;
+    private int[] postIds = new int[INITIAL_CAPACITY];
+    private int[] frequencies = new int[INITIAL_CAPACITY];
+    private int size;
+
+    PostingList(String term)
+    {
+        this.term = term;
+    }
+
+    String term()
+    {
+        return term;
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    int postId(int index)
+    {
+        return postIds[index];
+    }
+
+    int titleFrequency(int index)
+    {
+        return frequencies[index] >>> 16;
+    }
+
+    int contentFrequency(int index)
+    {
+        return frequencies[index] & MAX_FREQUENCY;
+    }
+
+    // Frequencies saturate at 65535, far past the point where BM25 stops telling them apart
+    void put(int postId, int titleFrequency, int contentFrequency)
+    {
+        int packed = Math.min(titleFrequency, MAX_FREQUENCY) << 16 | Math.min(contentFrequency, MAX_FREQUENCY);
+        int index = size == 0 || postIds[size - 1] < postId ? -(size + 1) : Arrays.binarySearch(postIds, 0, size, postId);
+        if(index >= 0)
+        {
+            frequencies[index] = packed;
+            return;
+        }
+
+        index = -(index + 1);
+        if(size == postIds.length)
+        {
+            int capacity = size + (size >> 1) + 1;
+            postIds = Arrays.copyOf(postIds, capacity);
+            frequencies = Arrays.copyOf(frequencies, capacity);
+        }
+        System.arraycopy(postIds, index, postIds, index + 1, size - index);
+        System.arraycopy(frequencies, index, frequencies, index + 1, size - index);
+        postIds[index] = postId;
+        frequencies[index] = packed;
+        size++;
+    }
+
+    void remove(int postId)
+    {
+        int index = Arrays.binarySearch(postIds, 0, size, postId);
+        if(index < 0)
+        {
+            return;
+        }
+        System.arraycopy(postIds, index + 1, postIds, index, size - index - 1);
+        System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+        size--;
+        // Give the memory back once a list that was common has shrunk to a quarter
+        if(size > INITIAL_CAPACITY && size < postIds.length / 4)
+        {
+            postIds = Arrays.copyOf(postIds, size * 2);
+            frequencies = Arrays.copyOf(frequencies, size * 2);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.blog_application.blogApp.search;
+
+public record ScoredPost(Integer postId, double score) {
+}
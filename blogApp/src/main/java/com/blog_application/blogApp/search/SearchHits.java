@@ -0,0 +1,7 @@
+package com.blog_application.blogApp.search;
+
+import java.util.List;
+
+// One page of ranked hits, totalHits counts every hit the page was selected from
+public record SearchHits(List<ScoredPost> hits, int totalHits) {
+}
@@ -0,0 +1,44 @@
+package com.blog_application.blogApp.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into index terms: accents are folded, everything is lower cased and any run of characters
+ * that is not a letter or a digit separates two terms. Queries go through the same steps as indexed text.
+ */
+public final class SearchTokenizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchTokenizer()
+    {
+    }
+
+    public static String normalize(String text)
+    {
+        if(text == null)
+        {
+            return "";
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return folded.toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> tokenize(String text)
+    {
+        List<String> terms = new ArrayList<>();
+        for(String term : SEPARATORS.split(normalize(text)))
+        {
+            if(!term.isEmpty())
+            {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,96 @@
+package com.blog_application.blogApp.security;
+
+import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.payloads.JwtAuthResponse;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+/**
+ * Issues short-lived access tokens together with a refresh token, and rotates the refresh token on every use:
+ * a refresh marks the token it was given as used, so a refresh token that shows up twice has leaked and is refused.
+ * Used refresh tokens live in their own store, the per-request revocation list only holds access tokens.
+ */
+@Service
+public class AuthTokenService {
+
+    private final JwtTokenHelper jwtTokenHelper;
+    private final CustomUserDetailService customUserDetailService;
+    private final TokenRevocationList tokenRevocationList;
+    private final UsedRefreshTokenStore usedRefreshTokenStore;
+
+    public AuthTokenService(JwtTokenHelper jwtTokenHelper, CustomUserDetailService customUserDetailService, TokenRevocationList tokenRevocationList, UsedRefreshTokenStore usedRefreshTokenStore)
+    {
+        this.jwtTokenHelper = jwtTokenHelper;
+        this.customUserDetailService = customUserDetailService;
+        this.tokenRevocationList = tokenRevocationList;
+        this.usedRefreshTokenStore = usedRefreshTokenStore;
+    }
+
+    public JwtAuthResponse issue(UserDetails userDetails)
+    {
+        return new JwtAuthResponse(jwtTokenHelper.generateToken(userDetails), jwtTokenHelper.generateRefreshToken(userDetails));
+    }
+
+    public JwtAuthResponse refresh(String refreshToken)
+    {
+        Claims claims = refreshClaims(refreshToken);
+
+        // Reloaded, so the new access token carries the current role and token version
+        UserDetails userDetails = customUserDetailService.loadUserByUsername(claims.getSubject());
+        Integer version = claims.get(JwtTokenHelper.VERSION_CLAIM, Integer.class);
+        if(userDetails instanceof User user && version != null && version != user.getTokenVersion())
+        {
+            throw new BadCredentialsException("Refresh token was revoked");
+        }
+
+        if(!usedRefreshTokenStore.markUsed(claims.getId(), claims.getExpiration()))
+        {
+            throw new BadCredentialsException("Refresh token was already used");
+        }
+        return issue(userDetails);
+    }
+
+    // The access token is optional, it is revoked too when it is still valid
+    public void logout(String refreshToken, String accessToken)
+    {
+        Claims claims = refreshClaims(refreshToken);
+        usedRefreshTokenStore.markUsed(claims.getId(), claims.getExpiration());
+
+        if(accessToken == null)
+        {
+            return;
+        }
+        try {
+            Claims accessClaims = jwtTokenHelper.getAllClaimsFromToken(accessToken);
+            if(accessClaims.getId() != null && !jwtTokenHelper.isRefreshToken(accessClaims))
+            {
+                tokenRevocationList.revoke(accessClaims.getId(), accessClaims.getExpiration());
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            // Expired or invalid, nothing left to revoke
+        }
+    }
+
+    private Claims refreshClaims(String refreshToken)
+    {
+        Claims claims;
+        try {
+            claims = jwtTokenHelper.getAllClaimsFromToken(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+
+        if(!jwtTokenHelper.isRefreshToken(claims) || claims.getId() == null)
+        {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        if(usedRefreshTokenStore.isUsed(claims.getId()))
+        {
+            throw new BadCredentialsException("Refresh token was revoked");
+        }
+        return claims;
+    }
+}
@@ -0,0 +1,70 @@
+package com.blog_application.blogApp.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent Bloom filter over strings, sized for an expected number of entries and false positive rate. Bits are
+ * set with CAS and never cleared. A lookup hashes the characters in place and reads k words, so it allocates nothing.
+ * Past the expected entries the false positive rate grows, answers stay correct.
+ */
+class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    private final KeyHasher keyHasher = new KeyHasher();
+
+    BloomFilter(long expectedEntries, double falsePositiveRate)
+    {
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bits = Math.max(64, (optimalBits + 63) / 64 * 64);
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedEntries * ln2));
+        this.words = new AtomicLongArray((int) (bits / 64));
+    }
+
+    void put(String key)
+    {
+        long hash = keyHasher.hash(key);
+        long h1 = KeyHasher.mix(hash);
+        long h2 = KeyHasher.mix(hash ^ 0x9e3779b97f4a7c15L) | 1;
+        for(int i = 0; i < hashes; i++)
+        {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while((current & mask) == 0 && !words.compareAndSet(word, current, current | mask))
+            {
+                current = words.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(String key)
+    {
+        long hash = keyHasher.hash(key);
+        long h1 = KeyHasher.mix(hash);
+        long h2 = KeyHasher.mix(hash ^ 0x9e3779b97f4a7c15L) | 1;
+        for(int i = 0; i < hashes; i++)
+        {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if((words.get((int) (bit >>> 6)) & (1L << bit)) == 0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int hashCount()
+    {
+        return hashes;
+    }
+
+    long bitCount()
+    {
+        return bits;
+    }
+}
@@ -0,0 +1,21 @@
+package com.blog_application.blogApp.security;
+
+/**
+ * What services need to know about the caller of the current request, taken from the principal the JWT filter
+ * already authenticated.
+ */
+public record CurrentUser(Integer id, String email, String role) {
+
+    public static final String ADMIN_ROLE = "ROLE_ADMIN";
+
+    public boolean isAdmin()
+    {
+        return ADMIN_ROLE.equals(role);
+    }
+
+    // Admins may change anything, everyone else only what they own
+    public boolean canModify(Integer ownerId)
+    {
+        return isAdmin() || id.equals(ownerId);
+    }
+}
@@ -0,0 +1,39 @@
+package com.blog_application.blogApp.security;
+
+import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.exceptionHandler.UnAuthorizedException;
+import com.blog_application.blogApp.exceptionHandler.UserNotFoundException;
+import com.blog_application.blogApp.repository.UserRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single accessor for the caller of the current request. The security context is bound to the request thread and
+ * JwtAuthenticationFilter puts a {@link User} in it, loaded from the principal cache or built from the token claims,
+ * so id and role are read without a query. Only a principal from elsewhere (e.g. a test) is looked up by email.
+ */
+@Component
+public class CurrentUserProvider {
+
+    private final UserRepository userRepository;
+
+    public CurrentUserProvider(UserRepository userRepository)
+    {
+        this.userRepository = userRepository;
+    }
+
+    public CurrentUser get()
+    {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if(authentication == null || !(authentication.getPrincipal() instanceof UserDetails principal))
+        {
+            throw new UnAuthorizedException("No authenticated user for this request");
+        }
+
+        User user = principal instanceof User authenticated ? authenticated : userRepository.findByEmail(principal.getUsername())
+                .orElseThrow(() -> new UserNotFoundException("Logged-in user not found: " + principal.getUsername()));
+        return new CurrentUser(user.getId(), user.getEmail(), user.getRole().getName());
+    }
+}
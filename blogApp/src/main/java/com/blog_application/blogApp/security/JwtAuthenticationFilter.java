@@ -1,5 +1,9 @@
 package com.blog_application.blogApp.security;
 
+import com.blog_application.blogApp.cache.PrincipalCache;
+import com.blog_application.blogApp.cache.VerifiedTokenCache;
+import com.blog_application.blogApp.entity.User;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,36 +20,59 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenHelper jwtTokenHelper;
     private final CustomUserDetailService customUserDetailService;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList tokenRevocationList;
 
-    public JwtAuthenticationFilter(JwtTokenHelper jwtTokenHelper, CustomUserDetailService customUserDetailService)
+    public JwtAuthenticationFilter(JwtTokenHelper jwtTokenHelper, CustomUserDetailService customUserDetailService, PrincipalCache principalCache, TokenVersionRegistry tokenVersionRegistry, VerifiedTokenCache verifiedTokenCache, TokenRevocationList tokenRevocationList)
     {
         this.jwtTokenHelper = jwtTokenHelper;
         this.customUserDetailService = customUserDetailService;
+        this.principalCache = principalCache;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username= null;
+        Claims claims = null;
 
         if(authHeader != null && authHeader.startsWith("Bearer "))
         {
-             token = authHeader.substring(7);
+             String token = authHeader.substring(7);
 
+             // The only signature check of the request, everything below works on these claims
              try{
-                 username = jwtTokenHelper.getUsernameFromToken(token);
+                 claims = verifiedTokenCache.get(token, jwtTokenHelper::getAllClaimsFromToken);
              }catch (Exception e)
              {
                  System.out.println("Invalid JWT token");
              }
+
+             // A refresh token is no access token, and a revoked one is no token at all
+             if(claims != null && (jwtTokenHelper.isRefreshToken(claims) || tokenRevocationList.isRevoked(claims.getId())))
+             {
+                 claims = null;
+             }
         }
 
-        if(username != null && SecurityContextHolder.getContext().getAuthentication() == null)
+        if(claims != null && SecurityContextHolder.getContext().getAuthentication() == null)
         {
-            UserDetails userDetails = customUserDetailService.loadUserByUsername(username);
+            String username = claims.getSubject();
+            UserDetails userDetails;
+            User claimedUser = jwtTokenHelper.getUserFromClaims(claims);
+            if(claimedUser != null)
+            {
+                // Self-contained token: identity and role come from the signed claims, only revocation is checked
+                userDetails = tokenVersionRegistry.isCurrent(claimedUser.getId(), claimedUser.getTokenVersion()) ? claimedUser : null;
+            }else{
+                userDetails = principalCache.get(username, customUserDetailService::loadUserByUsername);
+            }
 
-            if(jwtTokenHelper.validateToken(token,userDetails))
+            if(userDetails != null && jwtTokenHelper.validateClaims(claims,userDetails))
             {
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
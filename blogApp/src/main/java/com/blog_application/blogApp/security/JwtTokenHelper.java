@@ -1,6 +1,9 @@
 package com.blog_application.blogApp.security;
 
+import com.blog_application.blogApp.entity.Role;
+import com.blog_application.blogApp.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -12,17 +15,31 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtTokenHelper {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String VERSION_CLAIM = "ver";
+    public static final String TYPE_CLAIM = "type";
+    public static final String REFRESH_TYPE = "refresh";
+
     @Value("${jwt.secret}")
     private String SECRET;
 
     @Value("${jwt.expiration}")
     private  long EXPIRATION_TIME;
 
+    @Value("${jwt.refresh-expiration}")
+    private long REFRESH_EXPIRATION_TIME;
+
+    // Opt-in token format carrying userId, role and token version, so requests authenticate without a users query
+    @Value("${jwt.self-contained:false}")
+    private boolean selfContained;
+
     private SecretKey key;
 
     @PostConstruct
@@ -31,13 +48,85 @@ public class JwtTokenHelper {
     }
 
     public String generateToken(String username)
+    {
+        return builder(username).compact();
+    }
+
+    // Self-contained when the format is enabled and the details are a full user, subject only otherwise
+    public String generateToken(UserDetails userDetails)
+    {
+        if(!selfContained || !(userDetails instanceof User user))
+        {
+            return generateToken(userDetails.getUsername());
+        }
+
+        return builder(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().getName())
+                .claim(VERSION_CLAIM, user.getTokenVersion())
+                .compact();
+    }
+
+    // Refresh tokens carry the token version whatever the format, so changing a user also ends its refresh chain
+    public String generateRefreshToken(UserDetails userDetails)
+    {
+        JwtBuilder builder = builder(userDetails.getUsername(), REFRESH_EXPIRATION_TIME)
+                .claim(TYPE_CLAIM, REFRESH_TYPE);
+        if(userDetails instanceof User user)
+        {
+            builder.claim(VERSION_CLAIM, user.getTokenVersion());
+        }
+        return builder.compact();
+    }
+
+    public boolean isRefreshToken(Claims claims)
+    {
+        return REFRESH_TYPE.equals(claims.get(TYPE_CLAIM, String.class));
+    }
+
+    private JwtBuilder builder(String subject)
+    {
+        return builder(subject, EXPIRATION_TIME);
+    }
+
+    // Every token gets an id (jti), that is what revocation lists
+    private JwtBuilder builder(String subject, long expirationTime)
     {
         return Jwts.builder()
-                .setSubject(username)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis()+EXPIRATION_TIME))
-                .signWith(key,SignatureAlgorithm.HS256)
-                .compact();
+                .setExpiration(new Date(System.currentTimeMillis()+expirationTime))
+                .signWith(key,SignatureAlgorithm.HS256);
+    }
+
+    // The user a self-contained token describes, null for a subject-only token or when the format is disabled
+    public User getUserFromToken(String token)
+    {
+        return getUserFromClaims(getAllClaimsFromToken(token));
+    }
+
+    public User getUserFromClaims(Claims claims)
+    {
+        if(!selfContained)
+        {
+            return null;
+        }
+
+        Integer userId = claims.get(USER_ID_CLAIM, Integer.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Integer version = claims.get(VERSION_CLAIM, Integer.class);
+        if(userId == null || role == null || version == null)
+        {
+            return null;
+        }
+
+        User user = new User();
+        user.setId(userId);
+        user.setEmail(claims.getSubject());
+        user.setRole(new Role(null, role));
+        user.setTokenVersion(version);
+        return user;
     }
 
     // Retrieve username from token
@@ -56,8 +145,8 @@ public class JwtTokenHelper {
         return claimsResolver.apply(claims);
     }
 
-    // Get all claims from token using secret key
-    private Claims getAllClaimsFromToken(String token) {
+    // Verifies the signature and the expiration, every other method parses through here
+    public Claims getAllClaimsFromToken(String token) {
         return Jwts.parser()
                 .setSigningKey(key)
                 .parseClaimsJws(token)
@@ -65,15 +154,20 @@ public class JwtTokenHelper {
     }
 
     // Check if token has expired
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
+    private Boolean isTokenExpired(Claims claims) {
+        final Date expiration = claims.getExpiration();
         return expiration.before(new Date());
     }
 
     // Validate the token
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateClaims(getAllClaimsFromToken(token), userDetails);
+    }
+
+    // Validate claims that were already verified, e.g. by the filter, without parsing the token again
+    public Boolean validateClaims(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername()) && !isTokenExpired(claims));
     }
 
 }
@@ -0,0 +1,35 @@
+package com.blog_application.blogApp.security;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Seeded 64 bit string hashing for the in-memory sketches ({@link BloomFilter}, {@link TokenBucketSketch}). The
+ * characters are hashed in place, nothing is allocated. The seed is random per instance, so which keys collide
+ * cannot be worked out in advance.
+ */
+final class KeyHasher {
+
+    private final long seed = ThreadLocalRandom.current().nextLong();
+
+    // FNV-1a over the UTF-16 chars, fast but weak in the low bits, mix it before using it as an index
+    long hash(String key)
+    {
+        long hash = seed;
+        for(int i = 0; i < key.length(); i++)
+        {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // fmix64 from MurmurHash3
+    static long mix(long hash)
+    {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
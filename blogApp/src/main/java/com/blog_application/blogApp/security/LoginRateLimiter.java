@@ -0,0 +1,65 @@
+package com.blog_application.blogApp.security;
+
+import com.blog_application.blogApp.exceptionHandler.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Throttles login attempts per client IP and per email before any password is verified. Both limits are token
+ * buckets in a {@link TokenBucketSketch}, so memory is fixed and an attempt takes no lock. An attempt over either
+ * limit fails with {@link TooManyRequestsException} and never reaches the AuthenticationManager.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final TokenBucketSketch ipBuckets;
+    private final TokenBucketSketch emailBuckets;
+    private final Counter ipRejected;
+    private final Counter emailRejected;
+
+    @Autowired
+    public LoginRateLimiter(@Value("${security.login-rate-limit.ip.capacity}") int ipCapacity,
+                            @Value("${security.login-rate-limit.ip.per-minute}") int ipPerMinute,
+                            @Value("${security.login-rate-limit.email.capacity}") int emailCapacity,
+                            @Value("${security.login-rate-limit.email.per-minute}") int emailPerMinute,
+                            @Value("${security.login-rate-limit.width}") int width,
+                            @Value("${security.login-rate-limit.depth}") int depth,
+                            MeterRegistry meterRegistry)
+    {
+        this(ipCapacity, ipPerMinute, emailCapacity, emailPerMinute, width, depth, meterRegistry, System::nanoTime);
+    }
+
+    // Tests pass their own clock to refill buckets without waiting
+    LoginRateLimiter(int ipCapacity, int ipPerMinute, int emailCapacity, int emailPerMinute, int width, int depth,
+                     MeterRegistry meterRegistry, LongSupplier clock)
+    {
+        this.ipBuckets = new TokenBucketSketch(width, depth, ipCapacity, ipPerMinute, clock);
+        this.emailBuckets = new TokenBucketSketch(width, depth, emailCapacity, emailPerMinute, clock);
+        this.ipRejected = Counter.builder("login.rate-limit.rejected").tag("key", "ip").register(meterRegistry);
+        this.emailRejected = Counter.builder("login.rate-limit.rejected").tag("key", "email").register(meterRegistry);
+    }
+
+    // The IP goes first, so a flood from one client does not drain the buckets of the accounts it targets
+    public void checkLogin(String clientIp, String email)
+    {
+        long ipWait = ipBuckets.tryAcquire(clientIp);
+        if(ipWait > 0)
+        {
+            ipRejected.increment();
+            throw new TooManyRequestsException("Too many login attempts from this address, try again later", Duration.ofNanos(ipWait));
+        }
+        long emailWait = email == null ? 0 : emailBuckets.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+        if(emailWait > 0)
+        {
+            emailRejected.increment();
+            throw new TooManyRequestsException("Too many login attempts for this account, try again later", Duration.ofNanos(emailWait));
+        }
+    }
+}
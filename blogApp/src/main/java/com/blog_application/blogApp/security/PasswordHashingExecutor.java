@@ -0,0 +1,100 @@
+package com.blog_application.blogApp.security;
+
+import com.blog_application.blogApp.exceptionHandler.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on its own pool of one thread per CPU with a bounded queue. A burst of logins or
+ * registrations then queues here instead of taking every CPU from the request threads, and once threads and queue
+ * are full the caller fails fast with a {@link TooManyRequestsException}. The pool is published to Micrometer as
+ * executor "password-hashing" (queued, active, completed), the time spent hashing as "password.hashing".
+ */
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    public static final String EXECUTOR_NAME = "password-hashing";
+
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(@Value("${security.password-hashing.threads}") int threads,
+                                   @Value("${security.password-hashing.queue-capacity}") int queueCapacity,
+                                   MeterRegistry meterRegistry)
+    {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        this.meterRegistry = meterRegistry;
+        this.rejected = Counter.builder("password.hashing.rejected").register(meterRegistry);
+        new ExecutorServiceMetrics(executor, EXECUTOR_NAME, List.of()).bindTo(meterRegistry);
+    }
+
+    // Blocks the caller until the hash is done, exceptions of the task reach the caller unchanged
+    public <T> T execute(String operation, Supplier<T> task)
+    {
+        Timer timer = timers.computeIfAbsent(operation, name -> Timer.builder("password.hashing").tag("operation", name).register(meterRegistry));
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.record(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many login or registration requests, try again shortly");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException runtimeException)
+            {
+                throw runtimeException;
+            }
+            if(e.getCause() instanceof Error error)
+            {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy()
+    {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory()
+    {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, EXECUTOR_NAME + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
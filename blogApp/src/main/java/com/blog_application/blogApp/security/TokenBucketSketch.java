@@ -0,0 +1,89 @@
+package com.blog_application.blogApp.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-size array of token buckets shared by every key, like the counters of a count-min sketch. A key hashes to
+ * one bucket per row and an attempt passes only if all of them have a token, so colliding keys can only make a key
+ * stricter, never looser, and memory stays at rows * width longs however many keys show up.
+ * <p>
+ * Each bucket is a single long updated with CAS: the time at which it would be full again (GCRA). Taking a token
+ * pushes that time one interval further, a bucket holds at most capacity tokens worth of intervals ahead of now.
+ */
+class TokenBucketSketch {
+
+    private final AtomicLongArray buckets;
+    private final int width;
+    private final int depth;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final long origin;
+
+    private final KeyHasher keyHasher = new KeyHasher();
+
+    TokenBucketSketch(int width, int depth, int capacity, int perMinute, LongSupplier clock)
+    {
+        this.buckets = new AtomicLongArray(width * depth);
+        this.width = width;
+        this.depth = depth;
+        this.intervalNanos = 60_000_000_000L / perMinute;
+        this.burstNanos = intervalNanos * capacity;
+        this.clock = clock;
+        // Every bucket starts at 0, which is "full" as long as now is measured from here
+        this.origin = clock.getAsLong();
+    }
+
+    // 0 when a token was taken, otherwise the nanoseconds until every row of the key has one again
+    long tryAcquire(String key)
+    {
+        long now = clock.getAsLong() - origin;
+        // Mixed, the low bits pick the columns
+        long hash = KeyHasher.mix(keyHasher.hash(key));
+        int step = (int) (hash >>> 32) | 1;
+
+        // Check first, so an attempt rejected by one row does not drain the others
+        long wait = 0;
+        for(int row = 0; row < depth; row++)
+        {
+            wait = Math.max(wait, nextTat(buckets.get(index(hash, step, row)), now) - now - burstNanos);
+        }
+        if(wait > 0)
+        {
+            return wait;
+        }
+
+        for(int row = 0; row < depth; row++)
+        {
+            int index = index(hash, step, row);
+            while(true)
+            {
+                long tat = buckets.get(index);
+                long nextTat = nextTat(tat, now);
+                if(nextTat - now > burstNanos)
+                {
+                    // Drained by a concurrent attempt since the check
+                    return nextTat - now - burstNanos;
+                }
+                if(buckets.compareAndSet(index, tat, nextTat))
+                {
+                    break;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private long nextTat(long tat, long now)
+    {
+        return Math.max(tat, now) + intervalNanos;
+    }
+
+    // Double hashing gives an independent-enough bucket per row from one 64 bit hash
+    private int index(long hash, int step, int row)
+    {
+        int column = Math.floorMod((int) hash + row * step, width);
+        return row * width + column;
+    }
+}
@@ -0,0 +1,98 @@
+package com.blog_application.blogApp.security;
+
+import com.blog_application.blogApp.entity.RevokedToken;
+import com.blog_application.blogApp.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+/**
+ * Revoked access token ids (jti), persisted in revoked_tokens and mirrored in {@link BloomFilter}s. Almost every
+ * check is a Bloom miss, answered in memory without allocating, only a maybe is confirmed against the table.
+ * <p>
+ * Bits are never cleared, so the filters rotate in generations one access token lifetime long: a revocation goes
+ * into the current filter, a check asks the current and the previous one. A revoked token has expired before its
+ * filter is dropped, so each filter only ever holds the revocations of two lifetimes and cannot saturate. Expired
+ * rows are purged on the same schedule.
+ */
+@Component
+public class TokenRevocationList implements SmartInitializingSingleton {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+    private final Counter confirmed;
+    private final Counter falsePositives;
+
+    // One volatile pair, so a check never sees a rotation half done
+    private volatile Generations generations;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${jwt.revocation.expected-entries}") long expectedEntries,
+                               @Value("${jwt.revocation.false-positive-rate}") double falsePositiveRate,
+                               MeterRegistry meterRegistry)
+    {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.generations = new Generations(newFilter(), newFilter());
+        this.confirmed = Counter.builder("token.revocation.lookups").tag("result", "revoked").register(meterRegistry);
+        this.falsePositives = Counter.builder("token.revocation.lookups").tag("result", "false-positive").register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated()
+    {
+        revokedTokenRepository.deleteExpired(new Date());
+        BloomFilter current = generations.current();
+        revokedTokenRepository.findAllTokenIds().forEach(current::put);
+    }
+
+    public boolean isRevoked(String tokenId)
+    {
+        Generations snapshot = generations;
+        if(tokenId == null || !(snapshot.current().mightContain(tokenId) || snapshot.previous().mightContain(tokenId)))
+        {
+            return false;
+        }
+
+        boolean revoked = revokedTokenRepository.existsById(tokenId);
+        (revoked ? confirmed : falsePositives).increment();
+        return revoked;
+    }
+
+    // False when the token was revoked already
+    public boolean revoke(String tokenId, Date expiresAt)
+    {
+        // The filter first, so a check racing with the insert cannot miss a revocation that is already committed
+        generations.current().put(tokenId);
+        try {
+            revokedTokenRepository.saveAndFlush(new RevokedToken(tokenId, expiresAt));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    // Every access token lifetime: whatever the previous filter held has expired by now
+    @Scheduled(initialDelayString = "${jwt.expiration}", fixedDelayString = "${jwt.expiration}")
+    public void rotate()
+    {
+        generations = new Generations(newFilter(), generations.current());
+        revokedTokenRepository.deleteExpired(new Date());
+    }
+
+    private BloomFilter newFilter()
+    {
+        return new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    private record Generations(BloomFilter current, BloomFilter previous) {
+    }
+}
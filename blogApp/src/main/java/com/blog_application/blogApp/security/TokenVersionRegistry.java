@@ -0,0 +1,83 @@
+package com.blog_application.blogApp.security;
+
+import com.blog_application.blogApp.repository.UserRepository;
+import com.blog_application.blogApp.repository.UserTokenVersion;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Current token version of every user, so a self-contained token can be checked for revocation without a query.
+ * Only users whose version ever moved past 0 are kept, they are loaded once at startup and updated by the services
+ * that bump a version.
+ * <p>
+ * A token also has to name a live user. The ids of the users that exist at startup are kept in a bit set up to the
+ * highest one, any id below it without a user was deleted, before or after a restart. Users created later are
+ * above that id, and a user deleted while running is marked as revoked.
+ */
+@Component
+public class TokenVersionRegistry implements SmartInitializingSingleton {
+
+    private static final int REVOKED = Integer.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Integer, Integer> versions = new ConcurrentHashMap<>();
+    private volatile LiveUsers liveUsers = new LiveUsers(new BitSet(), 0);
+
+    public TokenVersionRegistry(UserRepository userRepository, PlatformTransactionManager transactionManager)
+    {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated()
+    {
+        for(UserTokenVersion userTokenVersion : userRepository.findByTokenVersionGreaterThan(0))
+        {
+            versions.merge(userTokenVersion.getId(), userTokenVersion.getTokenVersion(), Math::max);
+        }
+
+        BitSet ids = new BitSet();
+        // A repository stream needs an open transaction for as long as it is consumed
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Integer> userIds = userRepository.streamIds()) {
+                userIds.forEach(ids::set);
+            }
+        });
+        liveUsers = new LiveUsers(ids, Math.max(0, ids.length() - 1));
+    }
+
+    public boolean isCurrent(Integer userId, int tokenVersion)
+    {
+        LiveUsers snapshot = liveUsers;
+        if(userId == null || userId <= snapshot.maxId() && (userId < 0 || !snapshot.ids().get(userId)))
+        {
+            return false;
+        }
+        return tokenVersion >= versions.getOrDefault(userId, 0);
+    }
+
+    // Versions only move forward, a late update cannot bring back tokens a newer one revoked
+    public void update(Integer userId, int tokenVersion)
+    {
+        versions.merge(userId, tokenVersion, Math::max);
+    }
+
+    public void revokeAll(Integer userId)
+    {
+        versions.put(userId, REVOKED);
+    }
+
+    // Read-only once published, the user ids that existed at startup
+    private record LiveUsers(BitSet ids, int maxId) {
+    }
+}
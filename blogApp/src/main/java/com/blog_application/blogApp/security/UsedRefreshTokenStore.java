@@ -0,0 +1,47 @@
+package com.blog_application.blogApp.security;
+
+import com.blog_application.blogApp.entity.UsedRefreshToken;
+import com.blog_application.blogApp.repository.UsedRefreshTokenRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+/**
+ * Refresh token ids (jti) that were rotated or logged out, persisted in used_refresh_tokens. Only /api/auth/refresh
+ * and /api/auth/logout read it, so it never adds work to authenticated requests. Rows are purged once the token they
+ * stand for expired, the table only holds the refresh tokens still alive.
+ */
+@Component
+public class UsedRefreshTokenStore {
+
+    private final UsedRefreshTokenRepository usedRefreshTokenRepository;
+
+    public UsedRefreshTokenStore(UsedRefreshTokenRepository usedRefreshTokenRepository)
+    {
+        this.usedRefreshTokenRepository = usedRefreshTokenRepository;
+    }
+
+    public boolean isUsed(String tokenId)
+    {
+        return usedRefreshTokenRepository.existsById(tokenId);
+    }
+
+    // False when the token was used already, the primary key decides between two concurrent refreshes
+    public boolean markUsed(String tokenId, Date expiresAt)
+    {
+        try {
+            usedRefreshTokenRepository.saveAndFlush(new UsedRefreshToken(tokenId, expiresAt));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.used-refresh-tokens.purge-interval}")
+    public void purgeExpired()
+    {
+        usedRefreshTokenRepository.deleteExpired(new Date());
+    }
+}
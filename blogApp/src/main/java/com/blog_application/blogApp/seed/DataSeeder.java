@@ -0,0 +1,245 @@
+package com.blog_application.blogApp.seed;
+
+import com.blog_application.blogApp.cache.PostCache;
+import com.blog_application.blogApp.cache.PostListingCache;
+import com.blog_application.blogApp.entity.Post;
+import com.blog_application.blogApp.entity.Role;
+import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.repository.RoleRepository;
+import com.blog_application.blogApp.search.PostSearchIndexInitializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the schema with a large synthetic data set for performance work, run the application with the "seed" profile
+ * (sizes are in application-seed.properties). Rows are written with plain JDBC batches, posts are cut into chunks that
+ * are generated and inserted in parallel, each chunk in its own transaction with its own random stream. The data only
+ * depends on seed.random-seed and the sizes, whatever the thread count. New rows are added after the existing ones,
+ * the instance should not take writes while it seeds.
+ */
+@Component
+@Profile("seed")
+public class DataSeeder implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSeeder.class);
+
+    // Seeded users can all log in with their email and this password
+    public static final String PASSWORD = "password";
+
+    private static final Instant FIRST_POST_DATE = Instant.parse("2022-01-01T00:00:00Z");
+    private static final Duration POST_DATE_SPAN = Duration.ofDays(3 * 365);
+
+    private static final String INSERT_USER = "insert into users (id, name, email, email_normalized, password, about, role_id, token_version) values (?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_CATEGORY = "insert into categories (id, title, description) values (?, ?, ?)";
+    private static final String INSERT_POST = "insert into posts (post_id, post_title, post_content, image_name, added_date, user_id, category_id) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_COMMENT = "insert into comments (content, user_id, post_id) values (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final PostSearchIndexInitializer postSearchIndexInitializer;
+    private final PostCache postCache;
+    private final PostListingCache postListingCache;
+
+    private final int users;
+    private final int categories;
+    private final int posts;
+    private final double commentsPerPost;
+    private final int threads;
+    private final int batchSize;
+    private final int chunkSize;
+    private final long randomSeed;
+
+    public DataSeeder(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, RoleRepository roleRepository,
+                      PasswordEncoder passwordEncoder, PostSearchIndexInitializer postSearchIndexInitializer, PostCache postCache,
+                      PostListingCache postListingCache,
+                      @Value("${seed.users}") int users,
+                      @Value("${seed.categories}") int categories,
+                      @Value("${seed.posts}") int posts,
+                      @Value("${seed.comments-per-post}") double commentsPerPost,
+                      @Value("${seed.threads}") int threads,
+                      @Value("${seed.batch-size}") int batchSize,
+                      @Value("${seed.chunk-size}") int chunkSize,
+                      @Value("${seed.random-seed}") long randomSeed)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.postSearchIndexInitializer = postSearchIndexInitializer;
+        this.postCache = postCache;
+        this.postListingCache = postListingCache;
+        this.users = users;
+        this.categories = categories;
+        this.posts = posts;
+        this.commentsPerPost = commentsPerPost;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+        this.randomSeed = randomSeed;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception
+    {
+        long start = System.nanoTime();
+        Role role = roleRepository.findByName("ROLE_USER").orElseGet(() -> roleRepository.save(new Role(null, "ROLE_USER")));
+
+        int firstUserId = nextId("users", "id");
+        int firstCategoryId = nextId("categories", "id");
+        int firstPostId = reservePostIds();
+
+        SeedDataGenerator generator = new SeedDataGenerator(randomSeed);
+        insertUsers(generator, firstUserId, role.getId());
+        insertCategories(generator, firstCategoryId);
+        logger.info("Seeded {} users and {} categories", users, categories);
+
+        AtomicLong postsDone = new AtomicLong();
+        AtomicLong commentsDone = new AtomicLong();
+        int chunks = (posts + chunkSize - 1) / chunkSize;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>(chunks);
+            for(int chunk = 0; chunk < chunks; chunk++)
+            {
+                int chunkIndex = chunk;
+                futures.add(executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                    long comments = insertPostChunk(chunkIndex, firstPostId, firstUserId, firstCategoryId);
+                    long done = postsDone.addAndGet(Math.min(chunkSize, posts - (long) chunkIndex * chunkSize));
+                    commentsDone.addAndGet(comments);
+                    logger.info("Seeded {}/{} posts", done, posts);
+                })));
+            }
+            // get() rethrows the first failed chunk, the context then fails to start
+            for(Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+
+        // The index and the caches were filled before the seed ran
+        postSearchIndexInitializer.rebuild();
+        postCache.evictAll();
+        postListingCache.invalidateAll();
+
+        logger.info("Seeded {} users, {} categories, {} posts and {} comments in {} s, seeded users log in with password '{}'",
+                users, categories, postsDone.get(), commentsDone.get(), (System.nanoTime() - start) / 1_000_000_000, PASSWORD);
+    }
+
+    private void insertUsers(SeedDataGenerator generator, int firstUserId, Integer roleId)
+    {
+        // One hash for every user, encoding a million passwords would take longer than the whole seed
+        String password = passwordEncoder.encode(PASSWORD);
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for(int i = 0; i < users; i++)
+        {
+            int userId = firstUserId + i;
+            String email = "seed" + userId + "@example.com";
+            batch.add(new Object[]{userId, "Seed User " + userId, email, User.normalizeEmail(email), password, generator.shortText(), roleId});
+            flushIfFull(INSERT_USER, batch);
+        }
+        flush(INSERT_USER, batch);
+    }
+
+    private void insertCategories(SeedDataGenerator generator, int firstCategoryId)
+    {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for(int i = 0; i < categories; i++)
+        {
+            int categoryId = firstCategoryId + i;
+            batch.add(new Object[]{categoryId, "Category " + categoryId + " " + generator.title(), generator.shortText()});
+            flushIfFull(INSERT_CATEGORY, batch);
+        }
+        flush(INSERT_CATEGORY, batch);
+    }
+
+    // Posts are inserted before their comments, batch by batch, so a comment never points at a missing post
+    private long insertPostChunk(int chunk, int firstPostId, int firstUserId, int firstCategoryId)
+    {
+        SeedDataGenerator generator = SeedDataGenerator.forChunk(randomSeed, chunk);
+        int from = chunk * chunkSize;
+        int to = Math.min(posts, from + chunkSize);
+
+        long comments = 0;
+        List<Object[]> postBatch = new ArrayList<>(batchSize);
+        List<Object[]> commentBatch = new ArrayList<>();
+        for(int i = from; i < to; i++)
+        {
+            int postId = firstPostId + i;
+            // Dates grow with the ids like in a live blog, with a little jitter
+            long offset = POST_DATE_SPAN.toMillis() * i / Math.max(1, posts) + generator.nextLong(Duration.ofHours(12).toMillis());
+            postBatch.add(new Object[]{postId, generator.title(), generator.content(), "default-image.jpg",
+                    Timestamp.from(FIRST_POST_DATE.plusMillis(offset)),
+                    firstUserId + generator.skewedIndex(users, 3), firstCategoryId + generator.skewedIndex(categories, 2)});
+
+            int commentCount = generator.commentCount(commentsPerPost);
+            for(int j = 0; j < commentCount; j++)
+            {
+                commentBatch.add(new Object[]{generator.comment(), firstUserId + generator.skewedIndex(users, 1.5), postId});
+            }
+            comments += commentCount;
+
+            if(postBatch.size() == batchSize)
+            {
+                flush(INSERT_POST, postBatch);
+                flush(INSERT_COMMENT, commentBatch);
+            }
+        }
+        flush(INSERT_POST, postBatch);
+        flush(INSERT_COMMENT, commentBatch);
+        return comments;
+    }
+
+    private void flushIfFull(String sql, List<Object[]> batch)
+    {
+        if(batch.size() == batchSize)
+        {
+            flush(sql, batch);
+        }
+    }
+
+    private void flush(String sql, List<Object[]> batch)
+    {
+        for(int i = 0; i < batch.size(); i += batchSize)
+        {
+            jdbcTemplate.batchUpdate(sql, batch.subList(i, Math.min(batch.size(), i + batchSize)));
+        }
+        batch.clear();
+    }
+
+    private int nextId(String table, String idColumn)
+    {
+        Integer maxId = jdbcTemplate.queryForObject("select coalesce(max(" + idColumn + "), 0) from " + table, Integer.class);
+        return maxId + 1;
+    }
+
+    // Takes the post ids out of the pooled generator, so posts created later through the API cannot collide with them
+    private int reservePostIds()
+    {
+        return transactionTemplate.execute(status -> {
+            Long nextValue = jdbcTemplate.queryForObject("select next_val from id_generators where sequence_name = 'posts' for update", Long.class);
+            // Hibernate hands out the block below the value it reads, so next_val ends one block past the reserved ids
+            jdbcTemplate.update("update id_generators set next_val = ? where sequence_name = 'posts'", nextValue + posts + Post.ID_ALLOCATION_SIZE);
+            return Math.toIntExact(nextValue + 1);
+        });
+    }
+}
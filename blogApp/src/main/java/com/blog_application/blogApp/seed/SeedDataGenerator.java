@@ -0,0 +1,133 @@
+package com.blog_application.blogApp.seed;
+
+import java.util.Random;
+
+/**
+ * Deterministic source of seed data with rough real-world shapes: post and comment lengths are log-normal, comment
+ * counts have a long tail and a few authors and categories get most of the posts. Words are drawn with a Zipf-like
+ * skew over a fixed vocabulary, so the search index sees common and rare terms. The same seed gives the same data.
+ */
+public class SeedDataGenerator {
+
+    private static final String[] WORDS = {
+            "the", "of", "and", "to", "in", "is", "for", "on", "with", "that", "this", "it", "as", "at", "by", "from",
+            "team", "match", "world", "cup", "cricket", "india", "final", "season", "player", "score", "game", "win",
+            "travel", "guide", "city", "food", "trip", "mountain", "beach", "hotel", "road", "train", "flight", "river",
+            "code", "java", "spring", "database", "cache", "query", "index", "server", "thread", "memory", "latency",
+            "music", "album", "movie", "review", "story", "book", "author", "chapter", "series", "episode", "scene",
+            "health", "running", "training", "diet", "sleep", "coffee", "morning", "weekend", "garden", "kitchen",
+            "market", "price", "stock", "budget", "startup", "product", "design", "release", "feature", "update",
+            "history", "science", "space", "planet", "energy", "climate", "ocean", "forest", "island", "desert",
+            "photo", "camera", "light", "winter", "summer", "festival", "family", "friends", "school", "project",
+            "first", "best", "new", "old", "great", "small", "long", "quick", "simple", "hard", "better", "last"
+    };
+
+    private static final double CONTENT_MEDIAN = 1200;
+    private static final double CONTENT_SIGMA = 0.8;
+    private static final int CONTENT_MIN = 80;
+    private static final int CONTENT_MAX = 10000;
+
+    private static final double COMMENT_MEDIAN = 120;
+    private static final double COMMENT_SIGMA = 0.9;
+    private static final int COMMENT_MIN = 5;
+    private static final int COMMENT_MAX = 1000;
+    private static final int COMMENTS_PER_POST_MAX = 500;
+
+    // User about and category description, both plain varchar(255) columns
+    private static final double SHORT_TEXT_MEDIAN = 80;
+    private static final double SHORT_TEXT_SIGMA = 0.6;
+    private static final int SHORT_TEXT_MIN = 10;
+    private static final int SHORT_TEXT_MAX = 255;
+
+    private final Random random;
+
+    public SeedDataGenerator(long seed)
+    {
+        this.random = new Random(seed);
+    }
+
+    // Chunks are generated on different threads, each gets its own stream so the result does not depend on scheduling
+    public static SeedDataGenerator forChunk(long seed, int chunk)
+    {
+        return new SeedDataGenerator(seed * 0x9E3779B97F4A7C15L + chunk);
+    }
+
+    public String title()
+    {
+        String title = words(3 + random.nextInt(10));
+        return Character.toUpperCase(title.charAt(0)) + title.substring(1);
+    }
+
+    public String content()
+    {
+        return text(logNormal(CONTENT_MEDIAN, CONTENT_SIGMA, CONTENT_MIN, CONTENT_MAX));
+    }
+
+    public String comment()
+    {
+        return text(logNormal(COMMENT_MEDIAN, COMMENT_SIGMA, COMMENT_MIN, COMMENT_MAX));
+    }
+
+    public String shortText()
+    {
+        return text(logNormal(SHORT_TEXT_MEDIAN, SHORT_TEXT_SIGMA, SHORT_TEXT_MIN, SHORT_TEXT_MAX));
+    }
+
+    // Mostly a handful, about one post in a hundred gets twenty times the usual discussion
+    public int commentCount(double mean)
+    {
+        double scale = random.nextInt(100) == 0 ? mean * 20 : mean;
+        int count = (int) Math.floor(-scale * Math.log(1 - random.nextDouble()));
+        return Math.min(count, COMMENTS_PER_POST_MAX);
+    }
+
+    // Index in [0, size), the higher the skew the more picks land on the first indexes, 1 is uniform
+    public int skewedIndex(int size, double skew)
+    {
+        return Math.min(size - 1, (int) (size * Math.pow(random.nextDouble(), skew)));
+    }
+
+    public long nextLong(long bound)
+    {
+        return (long) (random.nextDouble() * bound);
+    }
+
+    private int logNormal(double median, double sigma, int min, int max)
+    {
+        long value = Math.round(median * Math.exp(sigma * random.nextGaussian()));
+        return (int) Math.max(min, Math.min(max, value));
+    }
+
+    private String text(int length)
+    {
+        StringBuilder text = new StringBuilder(length + 16);
+        boolean sentenceStart = true;
+        while(text.length() < length)
+        {
+            String word = word();
+            text.append(sentenceStart ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+            sentenceStart = random.nextInt(12) == 0;
+            text.append(sentenceStart ? ". " : " ");
+        }
+        return text.substring(0, length).trim();
+    }
+
+    private String words(int count)
+    {
+        StringBuilder words = new StringBuilder();
+        for(int i = 0; i < count; i++)
+        {
+            if(i > 0)
+            {
+                words.append(' ');
+            }
+            words.append(word());
+        }
+        return words.toString();
+    }
+
+    private String word()
+    {
+        return WORDS[skewedIndex(WORDS.length, 2)];
+    }
+}
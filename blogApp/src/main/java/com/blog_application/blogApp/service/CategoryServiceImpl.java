@@ -1,10 +1,14 @@
 package com.blog_application.blogApp.service;
 
+import com.blog_application.blogApp.cache.PostCache;
+import com.blog_application.blogApp.cache.PostListingCache;
 import com.blog_application.blogApp.entity.Category;
 import com.blog_application.blogApp.exceptionHandler.CategoryNotFoundException;
+import com.blog_application.blogApp.mapper.CategoryMapper;
 import com.blog_application.blogApp.payloads.CategoryDto;
 import com.blog_application.blogApp.repository.CategoryRepository;
-import org.modelmapper.ModelMapper;
+import com.blog_application.blogApp.repository.PostRepository;
+import com.blog_application.blogApp.search.PostIndexes;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,12 +18,20 @@ import java.util.Optional;
 public class CategoryServiceImpl implements CategoryService{
 
     private CategoryRepository categoryRepository;
-    private ModelMapper modelMapper;
+    private CategoryMapper categoryMapper;
+    private PostCache postCache;
+    private PostListingCache postListingCache;
+    private PostRepository postRepository;
+    private PostIndexes postIndexes;
 
-    public CategoryServiceImpl(CategoryRepository  categoryRepository, ModelMapper modelMapper)
+    public CategoryServiceImpl(CategoryRepository  categoryRepository, CategoryMapper categoryMapper, PostCache postCache, PostListingCache postListingCache, PostRepository postRepository, PostIndexes postIndexes)
     {
         this.categoryRepository = categoryRepository;
-        this.modelMapper = modelMapper;
+        this.categoryMapper = categoryMapper;
+        this.postCache = postCache;
+        this.postListingCache = postListingCache;
+        this.postRepository = postRepository;
+        this.postIndexes = postIndexes;
     }
     @Override
     public CategoryDto createCategory(CategoryDto categoryDto) {
@@ -40,7 +52,11 @@ public class CategoryServiceImpl implements CategoryService{
         Category updatedCategory = optionalCategory.get();
         updatedCategory.setCategoryTitle(category.getCategoryTitle());
         updatedCategory.setCategoryDescription(category.getCategoryDescription());
-        return entityToDto(categoryRepository.save(updatedCategory));
+        Category savedCategory = categoryRepository.save(updatedCategory);
+        // The category is embedded in its posts and its title is part of every listing page
+        postCache.evictAll();
+        postListingCache.invalidateAll();
+        return entityToDto(savedCategory);
 
     }
 
@@ -72,18 +88,23 @@ public class CategoryServiceImpl implements CategoryService{
         }
 
         Category category = optionalCategory.get();
+        // The delete cascades to the posts, read their ids while the rows still exist
+        List<Integer> postIds = postRepository.findPostIdsByCategory(category);
         categoryRepository.delete(category);
+        postIndexes.evict(postIds);
+        postCache.evictAll();
+        postListingCache.invalidateAll();
     }
 
     public CategoryDto entityToDto(Category category)
     {
-        CategoryDto  categoryDto = modelMapper.map(category,CategoryDto.class);
+        CategoryDto  categoryDto = categoryMapper.toDto(category);
         return categoryDto;
     }
 
     public Category dtoToEntity(CategoryDto categoryDto)
     {
-        Category category = modelMapper.map(categoryDto,Category.class);
+        Category category = categoryMapper.toEntity(categoryDto);
         return category;
     }
 }
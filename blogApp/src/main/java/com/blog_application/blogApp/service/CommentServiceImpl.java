@@ -1,5 +1,6 @@
 package com.blog_application.blogApp.service;
 
+import com.blog_application.blogApp.cache.PostCache;
 import com.blog_application.blogApp.entity.Comment;
 import com.blog_application.blogApp.entity.Post;
 import com.blog_application.blogApp.entity.User;
@@ -7,12 +8,13 @@ import com.blog_application.blogApp.exceptionHandler.CommentNotFoundException;
 import com.blog_application.blogApp.exceptionHandler.PostNotFoundException;
 import com.blog_application.blogApp.exceptionHandler.UnAuthorizedException;
 import com.blog_application.blogApp.exceptionHandler.UserNotFoundException;
+import com.blog_application.blogApp.mapper.CommentMapper;
 import com.blog_application.blogApp.payloads.CommentDto;
 import com.blog_application.blogApp.repository.CommentRepository;
 import com.blog_application.blogApp.repository.PostRepository;
 import com.blog_application.blogApp.repository.UserRepository;
-import org.modelmapper.ModelMapper;
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.blog_application.blogApp.search.PostTitleTrie;
+import com.blog_application.blogApp.security.CurrentUserProvider;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -23,14 +25,20 @@ public class CommentServiceImpl implements CommentService{
     private CommentRepository commentRepository;
     private PostRepository postRepository;
     private UserRepository userRepository;
-    private ModelMapper modelMapper;
+    private CommentMapper commentMapper;
+    private PostCache postCache;
+    private PostTitleTrie postTitleTrie;
+    private CurrentUserProvider currentUserProvider;
 
-    public CommentServiceImpl(CommentRepository commentRepository, PostRepository postRepository, UserRepository userRepository, ModelMapper modelMapper)
+    public CommentServiceImpl(CommentRepository commentRepository, PostRepository postRepository, UserRepository userRepository, CommentMapper commentMapper, PostCache postCache, PostTitleTrie postTitleTrie, CurrentUserProvider currentUserProvider)
     {
         this.commentRepository  = commentRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
-        this.modelMapper=modelMapper;
+        this.commentMapper=commentMapper;
+        this.postCache = postCache;
+        this.postTitleTrie = postTitleTrie;
+        this.currentUserProvider = currentUserProvider;
     }
     @Override
     public CommentDto createComment(CommentDto commentDto, Integer userId, Integer postId) {
@@ -43,12 +51,15 @@ public class CommentServiceImpl implements CommentService{
 
         User existingUser = userRepository.findById(userId).orElseThrow(()-> new UserNotFoundException("User not found with Id: "+userId));
 
-        Comment comment = modelMapper.map(commentDto, Comment.class);
+        Comment comment = commentMapper.toEntity(commentDto);
         comment.setUser(existingUser);
         comment.setPost(existingPost);
 
         Comment newComment = commentRepository.save(comment);
-        return modelMapper.map(newComment,CommentDto.class);
+        // Cached posts embed their comments, and comments rank posts in the typeahead
+        postCache.evict(postId);
+        postTitleTrie.addPopularity(postId, 1);
+        return commentMapper.toDto(newComment);
     }
 
     @Override
@@ -61,14 +72,13 @@ public class CommentServiceImpl implements CommentService{
 
         Comment comment = optionalComment.get();
 
-        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-
-        if (!currentUser.getRole().getName().equals("ROLE_ADMIN")
-                && !comment.getUser().getId().equals(currentUser.getId())) {
-            throw new UnAuthorizedException("You are not authorized to delete this comment"+currentUser);
+        if (!currentUserProvider.get().canModify(comment.getUser().getId())) {
+            throw new UnAuthorizedException("You are not authorized to delete this comment");
         }
 
         commentRepository.delete(comment);
+        postCache.evict(comment.getPost().getPostId());
+        postTitleTrie.addPopularity(comment.getPost().getPostId(), -1);
     }
 }
 
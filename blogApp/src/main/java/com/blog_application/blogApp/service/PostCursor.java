@@ -0,0 +1,140 @@
+package com.blog_application.blogApp.service;
+
+import com.blog_application.blogApp.exceptionHandler.InvalidCursorException;
+import com.blog_application.blogApp.payloads.PostSummaryDto;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Opaque keyset cursor for post listings. It remembers the sort key, the direction and the
+ * (sortKey, postId) of the last post that was returned, so the next page is a seek instead of an offset scan.
+ */
+public class PostCursor {
+
+    private static final Set<String> SORT_KEYS = Set.of("postId", "title", "addedDate");
+    private static final String SEPARATOR = "|";
+
+    private final String sortBy;
+    private final Sort.Direction direction;
+    private final Integer lastPostId;
+    private final Object lastSortValue;
+
+    private PostCursor(String sortBy, Sort.Direction direction, Integer lastPostId, Object lastSortValue)
+    {
+        this.sortBy = sortBy;
+        this.direction = direction;
+        this.lastPostId = lastPostId;
+        this.lastSortValue = lastSortValue;
+    }
+
+    public static boolean supports(String sortBy)
+    {
+        return SORT_KEYS.contains(sortBy);
+    }
+
+    // Cursor for the first page of a listing
+    public static PostCursor first(String sortBy, String sortDir)
+    {
+        if(!supports(sortBy))
+        {
+            throw new InvalidCursorException("Cursor paging is not supported for sortBy: "+sortBy);
+        }
+        return new PostCursor(sortBy, toDirection(sortDir), null, null);
+    }
+
+    // Cursor pointing right after the given post
+    public static PostCursor after(PostSummaryDto post, String sortBy, String sortDir)
+    {
+        PostCursor cursor = first(sortBy, sortDir);
+        return new PostCursor(cursor.sortBy, cursor.direction, post.getId(), sortValueOf(post, sortBy));
+    }
+
+    public static PostCursor decode(String token)
+    {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: "+token);
+        }
+
+        // sortBy|dir|postId|value, the value goes last because titles may contain the separator
+        String[] parts = decoded.split("\\|", 4);
+        if(parts.length != 4 || !supports(parts[0]))
+        {
+            throw new InvalidCursorException("Invalid cursor: "+token);
+        }
+
+        try {
+            String sortBy = parts[0];
+            Sort.Direction direction = Sort.Direction.valueOf(parts[1]);
+            Integer lastPostId = Integer.valueOf(parts[2]);
+            Object lastSortValue = switch (sortBy) {
+                case "title" -> parts[3];
+                case "addedDate" -> new Date(Long.parseLong(parts[3]));
+                default -> lastPostId;
+            };
+            return new PostCursor(sortBy, direction, lastPostId, lastSortValue);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: "+token);
+        }
+    }
+
+    public String encode()
+    {
+        String value = lastSortValue instanceof Date date ? String.valueOf(date.getTime()) : String.valueOf(lastSortValue);
+        String raw = sortBy + SEPARATOR + direction.name() + SEPARATOR + lastPostId + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // postId is always the tie breaker so the seek predicate is (sortKey, postId) > (lastValue, lastId)
+    public Sort toSort()
+    {
+        Sort sort = Sort.by(direction, sortBy);
+        return sortBy.equals("postId") ? sort : sort.and(Sort.by(direction, "postId"));
+    }
+
+    public ScrollPosition toScrollPosition()
+    {
+        if(lastPostId == null)
+        {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(sortBy, lastSortValue);
+        keys.put("postId", lastPostId);
+        return ScrollPosition.forward(keys);
+    }
+
+    public String getSortBy()
+    {
+        return sortBy;
+    }
+
+    public String getSortDir()
+    {
+        return direction.isAscending() ? "asc" : "desc";
+    }
+
+    private static Sort.Direction toDirection(String sortDir)
+    {
+        return sortDir.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
+    }
+
+    private static Object sortValueOf(PostSummaryDto post, String sortBy)
+    {
+        return switch (sortBy) {
+            case "title" -> post.getTitle();
+            case "addedDate" -> new Date(post.getAddedDate().getTime());
+            default -> post.getId();
+        };
+    }
+}
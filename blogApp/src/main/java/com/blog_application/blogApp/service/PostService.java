@@ -1,26 +1,58 @@
 package com.blog_application.blogApp.service;
 
 import com.blog_application.blogApp.entity.Post;
+import com.blog_application.blogApp.payloads.BulkPostResponse;
 import com.blog_application.blogApp.payloads.PostDto;
+import com.blog_application.blogApp.payloads.PostExportDto;
 import com.blog_application.blogApp.payloads.PostResponse;
+import com.blog_application.blogApp.payloads.PostSuggestionDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PostService {
 
     PostDto createPost(PostDto postDto,Integer userId, Integer categoryId);
 
+    // Every post names its own user and category, posts that can be saved are saved together, the others are reported
+    BulkPostResponse createPosts(List<PostDto> postDtos);
+
     PostDto updatePost(PostDto postDto);
 
     PostResponse getAllPosts(Integer pageNumber, Integer pageSize, String sortBy, String sortDir);
 
+    PostResponse sliceAllPosts(Integer pageNumber, Integer pageSize, String sortBy, String sortDir);
+
+    PostResponse scrollAllPosts(String cursor, Integer pageSize, String sortBy, String sortDir);
+
     PostDto getPostById(Integer postId);
 
+    String getPostVersion(Integer postId);
+
+    String getAllPostsVersion();
+
+    String getPostsByCategoryVersion(Integer categoryId);
+
+    String getPostsByUserVersion(Integer userId);
+
     PostResponse getPostsByCategory(Integer categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortDir);
 
+    PostResponse slicePostsByCategory(Integer categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortDir);
+
+    PostResponse scrollPostsByCategory(Integer categoryId, String cursor, Integer pageSize, String sortBy, String sortDir);
+
     PostResponse getPostsByUser(Integer userId, Integer pageNumber, Integer pageSize, String sortBy, String sortDir);
 
+    PostResponse slicePostsByUser(Integer userId, Integer pageNumber, Integer pageSize, String sortBy, String sortDir);
+
+    PostResponse scrollPostsByUser(Integer userId, String cursor, Integer pageSize, String sortBy, String sortDir);
+
     void deletePost(Integer postId);
 
-    List<PostDto> searchPosts(String keyword);
+    PostResponse searchPosts(String keywords, Integer pageNumber, Integer pageSize, String cursor);
+
+    List<PostSuggestionDto> suggestPosts(String prefix, Integer limit);
+
+    // Hands every post to the consumer one at a time, in postId order, while the database cursor is open
+    void exportPosts(Consumer<PostExportDto> consumer);
 }
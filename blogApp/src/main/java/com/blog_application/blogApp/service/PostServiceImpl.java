@@ -1,29 +1,58 @@
 package com.blog_application.blogApp.service;
 
+import com.blog_application.blogApp.cache.PostCache;
+import com.blog_application.blogApp.cache.PostListingCache;
+import com.blog_application.blogApp.config.AppConstants;
 import com.blog_application.blogApp.entity.Category;
 import com.blog_application.blogApp.entity.Post;
 import com.blog_application.blogApp.entity.User;
 import com.blog_application.blogApp.exceptionHandler.CategoryNotFoundException;
+import com.blog_application.blogApp.exceptionHandler.InvalidCursorException;
 import com.blog_application.blogApp.exceptionHandler.PostNotFoundException;
 import com.blog_application.blogApp.exceptionHandler.UnAuthorizedException;
 import com.blog_application.blogApp.exceptionHandler.UserNotFoundException;
+import com.blog_application.blogApp.mapper.PostMapper;
+import com.blog_application.blogApp.payloads.BulkPostResponse;
+import com.blog_application.blogApp.payloads.BulkPostResult;
 import com.blog_application.blogApp.payloads.PostDto;
+import com.blog_application.blogApp.payloads.PostExportDto;
 import com.blog_application.blogApp.payloads.PostResponse;
+import com.blog_application.blogApp.payloads.PostSuggestionDto;
+import com.blog_application.blogApp.payloads.PostSummaryDto;
 import com.blog_application.blogApp.repository.CategoryRepository;
 import com.blog_application.blogApp.repository.PostRepository;
 import com.blog_application.blogApp.repository.UserRepository;
-import org.modelmapper.ModelMapper;
+import com.blog_application.blogApp.search.PostIndexes;
+import com.blog_application.blogApp.search.PostSearchIndex;
+import com.blog_application.blogApp.search.PostTitleTrie;
+import com.blog_application.blogApp.search.ScoredPost;
+import com.blog_application.blogApp.search.SearchHits;
+import com.blog_application.blogApp.security.CurrentUserProvider;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class PostServiceImpl implements PostService{
@@ -31,14 +60,28 @@ public class PostServiceImpl implements PostService{
     private PostRepository postRepository;
     private UserRepository userRepository;
     private CategoryRepository categoryRepository;
-    private ModelMapper modelMapper;
-
-    public PostServiceImpl(PostRepository postRepository, UserRepository userRepository, CategoryRepository categoryRepository, ModelMapper modelMapper)
+    private PostMapper postMapper;
+    private PostCache postCache;
+    private PostListingCache postListingCache;
+    private PostSearchIndex postSearchIndex;
+    private PostTitleTrie postTitleTrie;
+    private PostIndexes postIndexes;
+    private Validator validator;
+    private CurrentUserProvider currentUserProvider;
+
+    public PostServiceImpl(PostRepository postRepository, UserRepository userRepository, CategoryRepository categoryRepository, PostMapper postMapper, PostCache postCache, PostListingCache postListingCache, PostSearchIndex postSearchIndex, PostTitleTrie postTitleTrie, PostIndexes postIndexes, Validator validator, CurrentUserProvider currentUserProvider)
     {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
-        this.modelMapper = modelMapper;
+        this.postMapper = postMapper;
+        this.postCache = postCache;
+        this.postListingCache = postListingCache;
+        this.postSearchIndex = postSearchIndex;
+        this.postTitleTrie = postTitleTrie;
+        this.postIndexes = postIndexes;
+        this.validator = validator;
+        this.currentUserProvider = currentUserProvider;
     }
 
 
@@ -71,9 +114,76 @@ public class PostServiceImpl implements PostService{
         post.setCategory(category);
 
         Post newPost = postRepository.save(post);
+        postSearchIndex.index(newPost.getPostId(), newPost.getTitle(), newPost.getContent());
+        postTitleTrie.index(newPost.getPostId(), newPost.getTitle(), 0);
+        postListingCache.invalidatePost(userId, categoryId);
         return entityToDto(newPost);
     }
 
+    @Override
+    public BulkPostResponse createPosts(List<PostDto> postDtos) {
+        if(postDtos.size() > AppConstants.BULK_MAX_POSTS)
+        {
+            throw new IllegalArgumentException("At most "+AppConstants.BULK_MAX_POSTS+" posts can be created in one request");
+        }
+
+        // Every user and category of the request is read once, not once per post
+        Map<Integer, User> users = userRepository.findAllById(referencedIds(postDtos, postDto -> postDto.getUser() == null ? null : postDto.getUser().getId()))
+                .stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Integer, Category> categories = categoryRepository.findAllById(referencedIds(postDtos, postDto -> postDto.getCategory() == null ? null : postDto.getCategory().getId()))
+                .stream().collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        List<BulkPostResult> results = new ArrayList<>(postDtos.size());
+        List<BulkPostResult> createdResults = new ArrayList<>();
+        List<Post> posts = new ArrayList<>();
+        Date addedDate = new Date();
+        for(int index = 0; index < postDtos.size(); index++)
+        {
+            PostDto postDto = postDtos.get(index);
+            String error = bulkPostError(postDto, users, categories);
+            if(error != null)
+            {
+                results.add(new BulkPostResult(index, false, null, error));
+                continue;
+            }
+
+            Post post = dtoToEntity(postDto);
+            // A bulk request only ever creates, an id sent along must not turn the save into an update
+            post.setPostId(null);
+            if(post.getImageName() == null || post.getImageName().isEmpty())
+            {
+                post.setImageName("default-image.jpg");
+            }
+            post.setAddedDate(addedDate);
+            post.setUser(users.get(postDto.getUser().getId()));
+            post.setCategory(categories.get(postDto.getCategory().getId()));
+            posts.add(post);
+
+            BulkPostResult result = new BulkPostResult(index, true, null, "Post created");
+            results.add(result);
+            createdResults.add(result);
+        }
+
+        if(!posts.isEmpty())
+        {
+            // One transaction, ids come from the pooled generator and the inserts go out in JDBC batches
+            List<Post> newPosts = postRepository.saveAll(posts);
+
+            Set<Map.Entry<Integer, Integer>> touchedScopes = new LinkedHashSet<>();
+            for(int i = 0; i < newPosts.size(); i++)
+            {
+                Post newPost = newPosts.get(i);
+                createdResults.get(i).setId(newPost.getPostId());
+                postSearchIndex.index(newPost.getPostId(), newPost.getTitle(), newPost.getContent());
+                postTitleTrie.index(newPost.getPostId(), newPost.getTitle(), 0);
+                touchedScopes.add(Map.entry(newPost.getUser().getId(), newPost.getCategory().getId()));
+            }
+            touchedScopes.forEach(scope -> postListingCache.invalidatePost(scope.getKey(), scope.getValue()));
+        }
+
+        return new BulkPostResponse(posts.size(), postDtos.size() - posts.size(), results);
+    }
+
     @Override
     public PostDto updatePost(PostDto postDto) {
         Post post =  dtoToEntity(postDto);
@@ -85,12 +195,7 @@ public class PostServiceImpl implements PostService{
 
         Post existingPost = optionalPost.get();
 
-        String currentUsername = ((UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getUsername();
-        User currentUser = userRepository.findByEmail(currentUsername)
-                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + currentUsername));
-
-        if (!currentUser.getRole().getName().equals("ROLE_ADMIN") &&
-                !existingPost.getUser().getId().equals(currentUser.getId())) {
+        if (!currentUserProvider.get().canModify(existingPost.getUser().getId())) {
             throw new UnAuthorizedException("You are not authorized to update this post");
         }
 
@@ -104,45 +209,99 @@ public class PostServiceImpl implements PostService{
         }
 
         Post updatedPost = postRepository.save(existingPost);
+        postSearchIndex.index(updatedPost.getPostId(), updatedPost.getTitle(), updatedPost.getContent());
+        postTitleTrie.updateTitle(updatedPost.getPostId(), updatedPost.getTitle());
+        postCache.evict(updatedPost.getPostId());
+        postListingCache.invalidatePost(existingPost.getUser().getId(), existingPost.getCategory().getId());
 
         return entityToDto(updatedPost);
     }
 
     @Override
     public PostResponse getAllPosts(Integer pageNumber, Integer pageSize, String sortBy, String sortDir) {
+        return postListingCache.get(PostListingCache.ALL_SCOPE, pageNumber, pageSize, sortBy, sortDir,
+                () -> loadAllPosts(pageNumber, pageSize, sortBy, sortDir));
+    }
+
+    private PostResponse loadAllPosts(Integer pageNumber, Integer pageSize, String sortBy, String sortDir)
+    {
         Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
 
         Pageable page = PageRequest.of(pageNumber,pageSize, sort);
-        Page<Post> pagePost = postRepository.findAll(page);
+        Page<PostSummaryDto> pagePost = postRepository.findSummaryBy(page);
+
+        return pageToPostResponse(pagePost, sortBy, sortDir);
+    }
 
-        List<Post> posts = pagePost.getContent();
-        List<PostDto>postDtos = posts.stream().map((post) -> entityToDto(post)).toList();
+    @Override
+    public PostResponse sliceAllPosts(Integer pageNumber, Integer pageSize, String sortBy, String sortDir) {
+        Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
 
-        PostResponse postResponse = new PostResponse();
-        postResponse.setContent(postDtos);
-        postResponse.setPageNumber(pagePost.getNumber());
-        postResponse.setPageSize(pagePost.getSize());
-        postResponse.setTotalElements(pagePost.getTotalElements());
-        postResponse.setTotalPages(pagePost.getTotalPages());
-        postResponse.setLastPage(pagePost.isLast());
+        Pageable page = PageRequest.of(pageNumber,pageSize, sort);
+        Slice<PostSummaryDto> slicePosts = postRepository.findSummarySliceBy(page);
 
-        return postResponse;
+        return sliceToPostResponse(slicePosts, sortBy, sortDir);
+    }
+
+    @Override
+    public PostResponse scrollAllPosts(String cursor, Integer pageSize, String sortBy, String sortDir) {
+        PostCursor postCursor = resolveCursor(cursor, sortBy, sortDir);
+
+        Window<PostSummaryDto> windowPosts = postRepository.findSummaryBy(postCursor.toScrollPosition(), Limit.of(pageSize), postCursor.toSort());
+
+        return windowToPostResponse(windowPosts, pageSize, postCursor);
     }
 
     @Override
     public PostDto getPostById(Integer postId) {
-        Optional<Post> optionalPost = postRepository.findById(postId);
-        if(optionalPost.isEmpty())
+        return postCache.get(postId, this::loadPostById);
+    }
+
+    @Override
+    public String getPostVersion(Integer postId) {
+        return postCache.version(postId);
+    }
+
+    @Override
+    public String getAllPostsVersion() {
+        return postListingCache.version(PostListingCache.ALL_SCOPE);
+    }
+
+    @Override
+    public String getPostsByCategoryVersion(Integer categoryId) {
+        return postListingCache.version(PostListingCache.categoryScope(categoryId));
+    }
+
+    @Override
+    public String getPostsByUserVersion(Integer userId) {
+        return postListingCache.version(PostListingCache.userScope(userId));
+    }
+
+    @Override
+    public PostResponse getPostsByCategory(Integer categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortDir) {
+        return postListingCache.get(PostListingCache.categoryScope(categoryId), pageNumber, pageSize, sortBy, sortDir,
+                () -> loadPostsByCategory(categoryId, pageNumber, pageSize, sortBy, sortDir));
+    }
+
+    private PostResponse loadPostsByCategory(Integer categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortDir)
+    {
+        Optional<Category> optionalCategory = categoryRepository.findById(categoryId);
+        if(optionalCategory.isEmpty())
         {
-            throw new PostNotFoundException("Post not available with id: "+postId);
+            throw new CategoryNotFoundException("Category not  found with id: "+categoryId);
         }
 
-        Post post = optionalPost.get();
-        return entityToDto(post);
+        Category existingCategory = optionalCategory.get();
+        Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+
+        Pageable page = PageRequest.of(pageNumber,pageSize,sort);
+        Page<PostSummaryDto> pagePosts = postRepository.findSummaryByCategory(existingCategory, page);
+
+        return pageToPostResponse(pagePosts, sortBy, sortDir);
     }
 
     @Override
-    public PostResponse getPostsByCategory(Integer categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortDir) {
+    public PostResponse slicePostsByCategory(Integer categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortDir) {
         Optional<Category> optionalCategory = categoryRepository.findById(categoryId);
         if(optionalCategory.isEmpty())
         {
@@ -153,23 +312,35 @@ public class PostServiceImpl implements PostService{
         Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
 
         Pageable page = PageRequest.of(pageNumber,pageSize,sort);
-        Page<Post> pagePosts = postRepository.findByCategory(existingCategory, page);
-        List<Post> posts = pagePosts.getContent();
-        List<PostDto> postDtos = posts.stream().map(post -> entityToDto(post)).toList();
+        Slice<PostSummaryDto> slicePosts = postRepository.findSummarySliceByCategory(existingCategory, page);
 
-        PostResponse postResponse = new PostResponse();
-        postResponse.setContent(postDtos);
-        postResponse.setPageNumber(pagePosts.getNumber());
-        postResponse.setPageSize(pagePosts.getSize());
-        postResponse.setTotalElements(pagePosts.getTotalElements());
-        postResponse.setTotalPages(pagePosts.getTotalPages());
-        postResponse.setLastPage(pagePosts.isLast());
+        return sliceToPostResponse(slicePosts, sortBy, sortDir);
+    }
 
-        return postResponse;
+    @Override
+    public PostResponse scrollPostsByCategory(Integer categoryId, String cursor, Integer pageSize, String sortBy, String sortDir) {
+        Optional<Category> optionalCategory = categoryRepository.findById(categoryId);
+        if(optionalCategory.isEmpty())
+        {
+            throw new CategoryNotFoundException("Category not  found with id: "+categoryId);
+        }
+
+        Category existingCategory = optionalCategory.get();
+        PostCursor postCursor = resolveCursor(cursor, sortBy, sortDir);
+
+        Window<PostSummaryDto> windowPosts = postRepository.findSummaryByCategory(existingCategory, postCursor.toScrollPosition(), Limit.of(pageSize), postCursor.toSort());
+
+        return windowToPostResponse(windowPosts, pageSize, postCursor);
     }
 
     @Override
     public PostResponse getPostsByUser(Integer userId, Integer pageNumber, Integer pageSize, String sortBy, String sortDir) {
+        return postListingCache.get(PostListingCache.userScope(userId), pageNumber, pageSize, sortBy, sortDir,
+                () -> loadPostsByUser(userId, pageNumber, pageSize, sortBy, sortDir));
+    }
+
+    private PostResponse loadPostsByUser(Integer userId, Integer pageNumber, Integer pageSize, String sortBy, String sortDir)
+    {
         Optional<User> optionalUser = userRepository.findById(userId);
         if(optionalUser.isEmpty())
         {
@@ -180,19 +351,42 @@ public class PostServiceImpl implements PostService{
         Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
 
         Pageable page = PageRequest.of(pageNumber,pageSize,sort);
-        Page<Post> pagePosts = postRepository.findByUser(user,page);
-        List<Post> userPosts =pagePosts.getContent();
-        List<PostDto> postDtos = userPosts.stream().map(post -> entityToDto(post)).toList();
+        Page<PostSummaryDto> pagePosts = postRepository.findSummaryByUser(user,page);
 
-        PostResponse postResponse = new PostResponse();
-        postResponse.setContent(postDtos);
-        postResponse.setPageNumber(pagePosts.getNumber());
-        postResponse.setPageSize(pagePosts.getSize());
-        postResponse.setTotalElements(pagePosts.getTotalElements());
-        postResponse.setTotalPages(pagePosts.getTotalPages());
-        postResponse.setLastPage(pagePosts.isLast());
+        return pageToPostResponse(pagePosts, sortBy, sortDir);
+    }
 
-        return postResponse;
+    @Override
+    public PostResponse slicePostsByUser(Integer userId, Integer pageNumber, Integer pageSize, String sortBy, String sortDir) {
+        Optional<User> optionalUser = userRepository.findById(userId);
+        if(optionalUser.isEmpty())
+        {
+            throw new UserNotFoundException("User not found with id: "+userId);
+        }
+
+        User user = optionalUser.get();
+        Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+
+        Pageable page = PageRequest.of(pageNumber,pageSize,sort);
+        Slice<PostSummaryDto> slicePosts = postRepository.findSummarySliceByUser(user,page);
+
+        return sliceToPostResponse(slicePosts, sortBy, sortDir);
+    }
+
+    @Override
+    public PostResponse scrollPostsByUser(Integer userId, String cursor, Integer pageSize, String sortBy, String sortDir) {
+        Optional<User> optionalUser = userRepository.findById(userId);
+        if(optionalUser.isEmpty())
+        {
+            throw new UserNotFoundException("User not found with id: "+userId);
+        }
+
+        User user = optionalUser.get();
+        PostCursor postCursor = resolveCursor(cursor, sortBy, sortDir);
+
+        Window<PostSummaryDto> windowPosts = postRepository.findSummaryByUser(user, postCursor.toScrollPosition(), Limit.of(pageSize), postCursor.toSort());
+
+        return windowToPostResponse(windowPosts, pageSize, postCursor);
     }
 
     @Override
@@ -205,35 +399,198 @@ public class PostServiceImpl implements PostService{
 
         Post post = optionalPost.get();
 
-        String currentUsername = ((UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getUsername();
-        User currentUser = userRepository.findByEmail(currentUsername)
-                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + currentUsername));
-
-        if (!currentUser.getRole().getName().equals("ROLE_ADMIN") &&
-                !post.getUser().getId().equals(currentUser.getId())) {
+        if (!currentUserProvider.get().canModify(post.getUser().getId())) {
             throw new UnAuthorizedException("You are not authorized to delete this post");
         }
 
         postRepository.delete(post);
+        postIndexes.evict(List.of(postId));
+        postCache.evict(postId);
+        postListingCache.invalidatePost(post.getUser().getId(), post.getCategory().getId());
+    }
+
+    @Override
+    public PostResponse searchPosts(String keywords, Integer pageNumber, Integer pageSize, String cursor)
+    {
+        ScoredPost after = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+        pageNumber = Math.max(0, pageNumber);
+        pageSize = Math.max(1, Math.min(pageSize, AppConstants.SEARCH_PAGE_MAX));
+        // Offset pages rank every hit up to the offset, deeper pages have to follow the cursor
+        long offset = (long) pageNumber * pageSize;
+        if(after == null && offset > AppConstants.SEARCH_MAX_OFFSET)
+        {
+            throw new InvalidCursorException("Search offset "+offset+" is past "+AppConstants.SEARCH_MAX_OFFSET+", page on with the nextCursor of a previous page");
+        }
+        int skip = after == null ? (int) offset : 0;
+        SearchHits searchHits = postSearchIndex.search(keywords, after, skip, pageSize);
+        List<ScoredPost> hits = searchHits.hits();
+
+        Map<Integer, PostSummaryDto> summaries = new HashMap<>();
+        if(!hits.isEmpty())
+        {
+            List<Integer> postIds = hits.stream().map(ScoredPost::postId).toList();
+            postRepository.findSummaryByPostIdIn(postIds).forEach(summary -> summaries.put(summary.getId(), summary));
+        }
+
+        PostResponse postResponse = new PostResponse();
+        // A post deleted between the index lookup and the select has no row any more
+        postResponse.setContent(hits.stream().map(hit -> summaries.get(hit.postId())).filter(Objects::nonNull).toList());
+        postResponse.setPageSize(pageSize);
+
+        boolean lastPage;
+        if(after == null)
+        {
+            // Offset mode ranked every hit, so the totals are exact
+            postResponse.setPageNumber(pageNumber);
+            postResponse.setTotalElements((long) searchHits.totalHits());
+            postResponse.setTotalPages((searchHits.totalHits() + pageSize - 1) / pageSize);
+            lastPage = (long) skip + pageSize >= searchHits.totalHits();
+        }else
+        {
+            lastPage = searchHits.totalHits() <= pageSize;
+        }
+        postResponse.setLastPage(lastPage);
+
+        if(!lastPage && !hits.isEmpty())
+        {
+            postResponse.setNextCursor(SearchCursor.encode(hits.get(hits.size() - 1)));
+        }
+
+        return postResponse;
+    }
+
+    @Override
+    public List<PostSuggestionDto> suggestPosts(String prefix, Integer limit)
+    {
+        int size = Math.min(limit, PostTitleTrie.TOP_N);
+        return postTitleTrie.suggest(prefix, size).stream()
+                .map(suggestion -> new PostSuggestionDto(suggestion.postId(), suggestion.title()))
+                .toList();
     }
 
     @Override
-    public List<PostDto> searchPosts(String keyword)
+    @Transactional(readOnly = true)
+    public void exportPosts(Consumer<PostExportDto> consumer)
+    {
+        // The stream needs the transaction for as long as it is read, it is closed even if the consumer fails
+        try (Stream<PostExportDto> posts = postRepository.streamExport()) {
+            posts.forEach(consumer);
+        }
+    }
+
+    private static Set<Integer> referencedIds(List<PostDto> postDtos, Function<PostDto, Integer> idOf)
+    {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for(PostDto postDto : postDtos)
+        {
+            Integer id = idOf.apply(postDto);
+            if(id != null)
+            {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    // Same checks as a single createPost, reported as a message instead of thrown
+    private String bulkPostError(PostDto postDto, Map<Integer, User> users, Map<Integer, Category> categories)
+    {
+        Set<ConstraintViolation<PostDto>> violations = validator.validate(postDto);
+        if(!violations.isEmpty())
+        {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath()+": "+violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if(postDto.getUser() == null || !users.containsKey(postDto.getUser().getId()))
+        {
+            return "User not found with id: "+(postDto.getUser() == null ? null : postDto.getUser().getId());
+        }
+        if(postDto.getCategory() == null || !categories.containsKey(postDto.getCategory().getId()))
+        {
+            return "Category not found with id: "+(postDto.getCategory() == null ? null : postDto.getCategory().getId());
+        }
+        return null;
+    }
+
+    private PostDto loadPostById(Integer postId)
+    {
+        Optional<Post> optionalPost = postRepository.findById(postId);
+        if(optionalPost.isEmpty())
+        {
+            throw new PostNotFoundException("Post not available with id: "+postId);
+        }
+
+        Post post = optionalPost.get();
+        return entityToDto(post);
+    }
+
+    private PostCursor resolveCursor(String cursor, String sortBy, String sortDir)
+    {
+        if(cursor == null || cursor.isBlank())
+        {
+            return PostCursor.first(sortBy, sortDir);
+        }
+        return PostCursor.decode(cursor);
+    }
+
+    private PostResponse pageToPostResponse(Page<PostSummaryDto> pagePosts, String sortBy, String sortDir)
     {
-        List<Post> posts = postRepository.findByTitleContaining(keyword);
-        List<PostDto> postDtos = posts.stream().map(post -> entityToDto(post)).toList();
-        return postDtos;
+        PostResponse postResponse = sliceToPostResponse(pagePosts, sortBy, sortDir);
+        postResponse.setTotalElements(pagePosts.getTotalElements());
+        postResponse.setTotalPages(pagePosts.getTotalPages());
+
+        return postResponse;
+    }
+
+    // A slice knows only whether another page follows, so totals stay null
+    private PostResponse sliceToPostResponse(Slice<PostSummaryDto> slicePosts, String sortBy, String sortDir)
+    {
+        List<PostSummaryDto> posts = slicePosts.getContent();
+
+        PostResponse postResponse = new PostResponse();
+        postResponse.setContent(posts);
+        postResponse.setPageNumber(slicePosts.getNumber());
+        postResponse.setPageSize(slicePosts.getSize());
+        postResponse.setLastPage(slicePosts.isLast());
+
+        // Lets an offset client switch over to seek paging from any page
+        if(!slicePosts.isLast() && !posts.isEmpty() && PostCursor.supports(sortBy))
+        {
+            postResponse.setNextCursor(PostCursor.after(posts.get(posts.size() - 1), sortBy, sortDir).encode());
+        }
+
+        return postResponse;
+    }
+
+    private PostResponse windowToPostResponse(Window<PostSummaryDto> windowPosts, Integer pageSize, PostCursor postCursor)
+    {
+        List<PostSummaryDto> posts = windowPosts.getContent();
+
+        PostResponse postResponse = new PostResponse();
+        postResponse.setContent(posts);
+        postResponse.setPageSize(pageSize);
+        postResponse.setLastPage(!windowPosts.hasNext());
+
+        if(windowPosts.hasNext() && !posts.isEmpty())
+        {
+            PostSummaryDto lastPost = posts.get(posts.size() - 1);
+            postResponse.setNextCursor(PostCursor.after(lastPost, postCursor.getSortBy(), postCursor.getSortDir()).encode());
+        }
+
+        return postResponse;
     }
 
     public Post dtoToEntity(PostDto postDto)
     {
-        Post post = modelMapper.map(postDto,Post.class);
+        Post post = postMapper.toEntity(postDto);
         return post;
     }
 
     public PostDto entityToDto(Post post)
     {
-        PostDto postDto = modelMapper.map(post,PostDto.class);
+        PostDto postDto = postMapper.toDto(post);
         return postDto;
     }
 }
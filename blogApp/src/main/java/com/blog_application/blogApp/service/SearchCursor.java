@@ -0,0 +1,41 @@
+package com.blog_application.blogApp.service;
+
+import com.blog_application.blogApp.exceptionHandler.InvalidCursorException;
+import com.blog_application.blogApp.search.ScoredPost;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for ranked search results. It holds the (score, postId) of the last hit returned, the next page
+ * is the best hits ranking after it, so deep pages cost the same as the first one.
+ */
+public final class SearchCursor {
+
+    private SearchCursor()
+    {
+    }
+
+    // The score is kept as its exact bits, a rounded score could skip or repeat hits
+    public static String encode(ScoredPost lastHit)
+    {
+        String raw = Long.toHexString(Double.doubleToLongBits(lastHit.score())) + "|" + lastHit.postId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ScoredPost decode(String token)
+    {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if(parts.length != 2)
+            {
+                throw new InvalidCursorException("Invalid cursor: "+token);
+            }
+            double score = Double.longBitsToDouble(Long.parseUnsignedLong(parts[0], 16));
+            return new ScoredPost(Integer.valueOf(parts[1]), score);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: "+token);
+        }
+    }
+}
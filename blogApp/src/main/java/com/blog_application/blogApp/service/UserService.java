@@ -2,9 +2,12 @@ package com.blog_application.blogApp.service;
 
 import com.blog_application.blogApp.entity.User;
 import com.blog_application.blogApp.payloads.UserDto;
+import com.blog_application.blogApp.payloads.UserPageResponse;
+import com.blog_application.blogApp.payloads.UserSummaryDto;
 import jakarta.validation.Valid;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
@@ -13,5 +16,7 @@ public interface UserService {
      UserDto updateUser(UserDto userDto);
      UserDto getUserById(Integer id);
      List<UserDto> getAllUsers();
+     UserPageResponse scrollUsers(String cursor, Integer pageSize);
+     void exportUsers(Consumer<UserSummaryDto> consumer);
      void deleteUser(Integer id);
 }
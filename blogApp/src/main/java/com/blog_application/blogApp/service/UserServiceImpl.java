@@ -1,21 +1,41 @@
 package com.blog_application.blogApp.service;
 
+import com.blog_application.blogApp.cache.PostCache;
+import com.blog_application.blogApp.cache.PostListingCache;
+import com.blog_application.blogApp.cache.PrincipalCache;
 import com.blog_application.blogApp.entity.Role;
 import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.exceptionHandler.DuplicateEmailException;
+import com.blog_application.blogApp.exceptionHandler.InvalidCursorException;
 import com.blog_application.blogApp.exceptionHandler.RoleNotFoundException;
 import com.blog_application.blogApp.exceptionHandler.UnAuthorizedException;
 import com.blog_application.blogApp.exceptionHandler.UserNotFoundException;
+import com.blog_application.blogApp.mapper.UserMapper;
 import com.blog_application.blogApp.payloads.UserDto;
+import com.blog_application.blogApp.payloads.UserPageResponse;
+import com.blog_application.blogApp.payloads.UserSummaryDto;
+import com.blog_application.blogApp.repository.PostRepository;
 import com.blog_application.blogApp.repository.RoleRepository;
 import com.blog_application.blogApp.repository.UserRepository;
-import org.modelmapper.ModelMapper;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import com.blog_application.blogApp.search.PostIndexes;
+import com.blog_application.blogApp.security.CurrentUserProvider;
+import com.blog_application.blogApp.security.TokenVersionRegistry;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class UserServiceImpl implements UserService{
@@ -23,14 +43,28 @@ public class UserServiceImpl implements UserService{
     private UserRepository userRepository;
     private PasswordEncoder passwordEncoder;
     private RoleRepository roleRepository;
-    private ModelMapper modelMapper;
-
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, RoleRepository roleRepository, ModelMapper modelMapper)
+    private UserMapper userMapper;
+    private PostCache postCache;
+    private PostListingCache postListingCache;
+    private PrincipalCache principalCache;
+    private TokenVersionRegistry tokenVersionRegistry;
+    private CurrentUserProvider currentUserProvider;
+    private PostRepository postRepository;
+    private PostIndexes postIndexes;
+
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, RoleRepository roleRepository, UserMapper userMapper, PostCache postCache, PostListingCache postListingCache, PrincipalCache principalCache, TokenVersionRegistry tokenVersionRegistry, CurrentUserProvider currentUserProvider, PostRepository postRepository, PostIndexes postIndexes)
     {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.roleRepository = roleRepository;
-        this.modelMapper = modelMapper;
+        this.userMapper = userMapper;
+        this.postCache = postCache;
+        this.postListingCache = postListingCache;
+        this.principalCache = principalCache;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.currentUserProvider = currentUserProvider;
+        this.postRepository = postRepository;
+        this.postIndexes = postIndexes;
     }
 
     @Override
@@ -41,7 +75,7 @@ public class UserServiceImpl implements UserService{
         Role defaultRole = roleRepository.findByName("ROLE_USER").orElseThrow(() -> new RoleNotFoundException("Default role not found"));
         user.setRole(defaultRole);
 
-        User savedUser = userRepository.save(user);
+        User savedUser = saveUser(user);
         return entityToDto(savedUser);
     }
 
@@ -53,17 +87,12 @@ public class UserServiceImpl implements UserService{
         Role role = roleRepository.findByName(userDto.getRoleName()).orElseThrow(() -> new RoleNotFoundException("Role not found"));
         user.setRole(role);
 
-        User newUser =  userRepository.save(user);
+        User newUser =  saveUser(user);
         return entityToDto(newUser);
     }
 
     @Override
     public UserDto updateUser(UserDto userDto) {
-        String currentUsername = ((UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getUsername();
-
-        User currentUser = userRepository.findByEmail(currentUsername)
-                .orElseThrow(() -> new UserNotFoundException("Logged-in user not found"+currentUsername));
-
         User user = dtoToEntity(userDto);
         Optional<User> optionalUser = userRepository.findById(user.getId());
         if(optionalUser.isEmpty())
@@ -73,16 +102,26 @@ public class UserServiceImpl implements UserService{
 
         User existingUser = optionalUser.get();
 
-        if (!currentUser.getRole().getName().equals("ROLE_ADMIN") && !existingUser.getEmail().equals(currentUser.getEmail())) {
+        if (!currentUserProvider.get().canModify(existingUser.getId())) {
             throw new UnAuthorizedException("You are not authorized to update this user");
         }
 
+        String previousEmail = existingUser.getEmail();
         existingUser.setName(user.getName());
         existingUser.setEmail(user.getEmail());
         existingUser.setPassword(passwordEncoder.encode(user.getPassword()));
         existingUser.setAbout(user.getAbout());
-
-        User updatedUser = userRepository.save(existingUser);
+        // The password is always replaced, so every token issued before is revoked
+        existingUser.setTokenVersion(existingUser.getTokenVersion() + 1);
+
+        User updatedUser = saveUser(existingUser);
+        tokenVersionRegistry.update(updatedUser.getId(), updatedUser.getTokenVersion());
+        // Tokens issued for the old email must stop resolving to the old password and details
+        principalCache.evict(previousEmail);
+        principalCache.evict(updatedUser.getEmail());
+        // The author is embedded in posts and comments, and named in listing pages of every scope they posted to
+        postCache.evictAll();
+        postListingCache.invalidateAll();
         return entityToDto(updatedUser);
     }
 
@@ -105,6 +144,25 @@ public class UserServiceImpl implements UserService{
        return userDtoList;
     }
 
+    @Override
+    public UserPageResponse scrollUsers(String cursor, Integer pageSize) {
+        ScrollPosition position = cursor == null || cursor.isBlank() ? ScrollPosition.keyset() : ScrollPosition.forward(Map.of("id", decodeCursor(cursor)));
+
+        Window<UserSummaryDto> windowUsers = userRepository.findSummaryBy(position, Limit.of(pageSize), Sort.by("id"));
+
+        List<UserSummaryDto> content = windowUsers.getContent();
+        String nextCursor = windowUsers.hasNext() && !content.isEmpty() ? encodeCursor(content.get(content.size() - 1).getId()) : null;
+        return new UserPageResponse(content, pageSize, !windowUsers.hasNext(), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsers(Consumer<UserSummaryDto> consumer) {
+        try (Stream<UserSummaryDto> users = userRepository.streamSummaries()) {
+            users.forEach(consumer);
+        }
+    }
+
     @Override
     public void deleteUser(Integer id) {
         Optional<User> optionalUser = userRepository.findById(id);
@@ -113,18 +171,55 @@ public class UserServiceImpl implements UserService{
             throw new UserNotFoundException("User Not found wit id: "+id);
         }
         User user = optionalUser.get();
+        // The delete cascades to the posts, read their ids while the rows still exist
+        List<Integer> postIds = postRepository.findPostIdsByUser(user);
         userRepository.delete(user);
+        postIndexes.evict(postIds);
+        tokenVersionRegistry.revokeAll(user.getId());
+        principalCache.evict(user.getEmail());
+        postCache.evictAll();
+        postListingCache.invalidateAll();
+    }
+
+    // The cursor is the id of the last user returned, opaque so clients do not start building ids themselves
+    private static String encodeCursor(Integer lastUserId)
+    {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(lastUserId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Integer decodeCursor(String cursor)
+    {
+        try {
+            return Integer.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: "+cursor);
+        }
+    }
+
+    // No existence check before the write, the unique index decides which of two concurrent registrations wins
+    private User saveUser(User user)
+    {
+        try {
+            return userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            String cause = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase();
+            if(cause.contains(User.EMAIL_CONSTRAINT))
+            {
+                throw new DuplicateEmailException("User already exists with email: "+user.getEmail());
+            }
+            throw e;
+        }
     }
 
     public UserDto entityToDto(User user)
     {
-        UserDto userDto = modelMapper.map(user,UserDto.class);
+        UserDto userDto = userMapper.toDto(user);
         return userDto;
     }
 
     public User dtoToEntity(UserDto userDto)
     {
-        User user = modelMapper.map(userDto,User.class);
+        User user = userMapper.toEntity(userDto);
         return user;
     }
 }
@@ -0,0 +1,124 @@
+package com.blog_application.blogApp.cache;
+
+import com.blog_application.blogApp.payloads.CommentDto;
+import com.blog_application.blogApp.payloads.PostDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PostCache postCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp()
+    {
+        meterRegistry = new SimpleMeterRegistry();
+        postCache = new PostCache(10_000, Duration.ofMinutes(10), meterRegistry, Runnable::run);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testGet_LoadsOnceThenHits()
+    {
+        PostDto first = postCache.get(1, this::load);
+        PostDto second = postCache.get(1, this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "posts").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "posts").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testEvict_NextGetReloads()
+    {
+        postCache.get(1, this::load);
+        postCache.evict(1);
+        postCache.get(1, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testVersion_ChangesOnlyForEvictedPost()
+    {
+        String post1 = postCache.version(1);
+        String post2 = postCache.version(2);
+
+        postCache.evict(1);
+
+        assertNotEquals(post1, postCache.version(1));
+        assertEquals(post2, postCache.version(2));
+    }
+
+    @Test
+    void testEvictAll_ReloadsAndChangesEveryVersion()
+    {
+        postCache.get(1, this::load);
+        String post2 = postCache.version(2);
+
+        postCache.evictAll();
+        postCache.get(1, this::load);
+
+        assertEquals(2, loads.get());
+        assertNotEquals(post2, postCache.version(2));
+    }
+
+    @Test
+    void testGet_LoaderExceptionIsNotCached()
+    {
+        assertThrows(IllegalStateException.class, () -> postCache.get(1, postId -> { throw new IllegalStateException(); }));
+
+        postCache.get(1, this::load);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testWeight_LargePostsAreEvictedByContentLength()
+    {
+        postCache.get(1, postId -> post(postId, 6_000));
+        postCache.get(2, postId -> post(postId, 6_000));
+
+        // Two 6k char posts do not fit a 10k weight budget, one of them has to go
+        postCache.get(1, this::load);
+        postCache.get(2, this::load);
+        assertEquals(1, loads.get());
+        assertTrue(meterRegistry.get("cache.evictions").tag("cache", "posts").functionCounter().count() >= 1);
+    }
+
+    @Test
+    void testWeigh_CountsTitleContentAndComments()
+    {
+        PostDto postDto = post(1, 100);
+        CommentDto commentDto = new CommentDto();
+        commentDto.setContent("0123456789");
+        postDto.setComments(List.of(commentDto));
+
+        assertTrue(PostCache.weigh(postDto) > PostCache.weigh(post(1, 100)));
+        assertTrue(PostCache.weigh(post(1, 1_000)) > PostCache.weigh(post(1, 100)));
+    }
+
+    private PostDto load(Integer postId)
+    {
+        loads.incrementAndGet();
+        return post(postId, 10);
+    }
+
+    private PostDto post(Integer postId, int contentLength)
+    {
+        PostDto postDto = new PostDto();
+        postDto.setId(postId);
+        postDto.setTitle("Post "+postId);
+        postDto.setContent("x".repeat(contentLength));
+        return postDto;
+    }
+}
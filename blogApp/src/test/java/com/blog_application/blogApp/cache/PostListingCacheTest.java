@@ -0,0 +1,132 @@
+package com.blog_application.blogApp.cache;
+
+import com.blog_application.blogApp.payloads.PostResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostListingCacheTest {
+
+    private PostListingCache postListingCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp()
+    {
+        postListingCache = new PostListingCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testGet_SameKeyHits()
+    {
+        PostResponse first = get(PostListingCache.ALL_SCOPE, "DESC");
+        PostResponse second = get(PostListingCache.ALL_SCOPE, "desc");
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testInvalidatePost_EvictsOnlyTouchedScopes()
+    {
+        get(PostListingCache.ALL_SCOPE, "desc");
+        get(PostListingCache.categoryScope(3), "desc");
+        get(PostListingCache.categoryScope(4), "desc");
+        get(PostListingCache.userScope(7), "desc");
+
+        postListingCache.invalidatePost(8, 3);
+        loads.set(0);
+
+        get(PostListingCache.ALL_SCOPE, "desc");
+        get(PostListingCache.categoryScope(3), "desc");
+        assertEquals(2, loads.get());
+
+        get(PostListingCache.categoryScope(4), "desc");
+        get(PostListingCache.userScope(7), "desc");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testVersion_ChangesOnlyForTouchedScopes()
+    {
+        String all = postListingCache.version(PostListingCache.ALL_SCOPE);
+        String category3 = postListingCache.version(PostListingCache.categoryScope(3));
+        String category4 = postListingCache.version(PostListingCache.categoryScope(4));
+
+        postListingCache.invalidatePost(8, 3);
+
+        assertNotEquals(all, postListingCache.version(PostListingCache.ALL_SCOPE));
+        assertNotEquals(category3, postListingCache.version(PostListingCache.categoryScope(3)));
+        assertEquals(category4, postListingCache.version(PostListingCache.categoryScope(4)));
+    }
+
+    @Test
+    void testInvalidateAll_EvictsEveryScope()
+    {
+        get(PostListingCache.categoryScope(4), "desc");
+        get(PostListingCache.userScope(7), "desc");
+
+        postListingCache.invalidateAll();
+        loads.set(0);
+
+        get(PostListingCache.categoryScope(4), "desc");
+        get(PostListingCache.userScope(7), "desc");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testInvalidatePost_DuringLoadDoesNotLeaveStalePage() throws Exception
+    {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+
+        // A reader is still building the page from pre-write data when the writer invalidates
+        CompletableFuture<PostResponse> staleRead = CompletableFuture.supplyAsync(() ->
+                postListingCache.get(PostListingCache.categoryScope(3), 0, 10, "postId", "desc", () -> {
+                    loading.countDown();
+                    await(written);
+                    return page(1L);
+                }));
+
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        postListingCache.invalidatePost(8, 3);
+        written.countDown();
+        assertEquals(1L, staleRead.get(5, TimeUnit.SECONDS).getTotalElements());
+
+        PostResponse freshRead = postListingCache.get(PostListingCache.categoryScope(3), 0, 10, "postId", "desc", () -> page(2L));
+        assertEquals(2L, freshRead.getTotalElements());
+    }
+
+    private PostResponse get(String scope, String sortDir)
+    {
+        return postListingCache.get(scope, 0, 10, "postId", sortDir, () -> {
+            loads.incrementAndGet();
+            return page(0L);
+        });
+    }
+
+    private PostResponse page(long totalElements)
+    {
+        PostResponse postResponse = new PostResponse();
+        postResponse.setTotalElements(totalElements);
+        return postResponse;
+    }
+
+    private static void await(CountDownLatch latch)
+    {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.blog_application.blogApp.cache;
+
+import com.blog_application.blogApp.entity.Comment;
+import com.blog_application.blogApp.entity.Post;
+import com.blog_application.blogApp.entity.Role;
+import com.blog_application.blogApp.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrincipalCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp()
+    {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(100, Duration.ofMinutes(1), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testGet_LoadsOnceThenHits()
+    {
+        UserDetails first = principalCache.get("shubham@gmail.com", this::load);
+        UserDetails second = principalCache.get("shubham@gmail.com", this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "principals").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testEvict_NextGetReloads()
+    {
+        principalCache.get("shubham@gmail.com", this::load);
+        principalCache.evict("shubham@gmail.com");
+        principalCache.get("shubham@gmail.com", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGet_CachesCopyWithoutCollections()
+    {
+        User cached = (User) principalCache.get("shubham@gmail.com", this::load);
+
+        assertEquals(1, cached.getId());
+        assertEquals("shubham@gmail.com", cached.getUsername());
+        assertEquals("ROLE_USER", cached.getRole().getName());
+        assertTrue(cached.getPost().isEmpty());
+        assertTrue(cached.getComments().isEmpty());
+    }
+
+    private UserDetails load(String email)
+    {
+        loads.incrementAndGet();
+        List<Post> posts = new ArrayList<>(List.of(new Post()));
+        List<Comment> comments = new ArrayList<>(List.of(new Comment()));
+        return new User(1, "Shubham", email, "encoded", "I am Java Developer", posts, comments, new Role(1, "ROLE_USER"), 0);
+    }
+}
@@ -0,0 +1,76 @@
+package com.blog_application.blogApp.cache;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VerifiedTokenCacheTest {
+
+    private VerifiedTokenCache verifiedTokenCache;
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void setUp()
+    {
+        verifiedTokenCache = new VerifiedTokenCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        verifications = new AtomicInteger();
+    }
+
+    @Test
+    void testGet_VerifiesOncePerToken()
+    {
+        Claims first = verifiedTokenCache.get("token-a", this::verify);
+        Claims second = verifiedTokenCache.get("token-a", this::verify);
+        verifiedTokenCache.get("token-b", this::verify);
+
+        assertSame(first, second);
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void testGet_FailedVerificationIsNotCached()
+    {
+        assertThrows(IllegalArgumentException.class, () -> verifiedTokenCache.get("bad", token -> {
+            verifications.incrementAndGet();
+            throw new IllegalArgumentException("Invalid signature");
+        }));
+        verifiedTokenCache.get("bad", this::verify);
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void testLifetime_NeverOutlivesToken()
+    {
+        Duration ttl = Duration.ofMinutes(10);
+
+        Duration soon = VerifiedTokenCache.lifetime(claimsExpiringIn(Duration.ofSeconds(30)), ttl);
+        Duration late = VerifiedTokenCache.lifetime(claimsExpiringIn(Duration.ofHours(1)), ttl);
+        Duration expired = VerifiedTokenCache.lifetime(claimsExpiringIn(Duration.ofSeconds(-5)), ttl);
+        Duration none = VerifiedTokenCache.lifetime(Jwts.claims().setSubject("shubham@gmail.com"), ttl);
+
+        assertTrue(soon.compareTo(Duration.ofSeconds(30)) <= 0 && soon.compareTo(Duration.ofSeconds(25)) > 0);
+        assertEquals(ttl, late);
+        assertEquals(Duration.ZERO, expired);
+        assertEquals(ttl, none);
+    }
+
+    private Claims verify(String token)
+    {
+        verifications.incrementAndGet();
+        return claimsExpiringIn(Duration.ofHours(1)).setSubject(token);
+    }
+
+    private static Claims claimsExpiringIn(Duration duration)
+    {
+        return Jwts.claims().setExpiration(new Date(System.currentTimeMillis() + duration.toMillis()));
+    }
+}
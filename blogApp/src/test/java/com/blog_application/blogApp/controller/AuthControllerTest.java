@@ -1,9 +1,14 @@
 package com.blog_application.blogApp.controller;
 
+import com.blog_application.blogApp.exceptionHandler.DuplicateEmailException;
+import com.blog_application.blogApp.exceptionHandler.TooManyRequestsException;
 import com.blog_application.blogApp.payloads.JwtAuthRequest;
+import com.blog_application.blogApp.payloads.JwtAuthResponse;
+import com.blog_application.blogApp.payloads.RefreshTokenRequest;
 import com.blog_application.blogApp.payloads.UserDto;
+import com.blog_application.blogApp.security.AuthTokenService;
 import com.blog_application.blogApp.security.CustomUserDetailService;
-import com.blog_application.blogApp.security.JwtTokenHelper;
+import com.blog_application.blogApp.security.LoginRateLimiter;
 import com.blog_application.blogApp.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,11 +26,13 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.util.Collections;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,7 +48,7 @@ public class AuthControllerTest {
     private AuthenticationManager authenticationManager;
 
     @MockitoBean
-    private JwtTokenHelper jwtTokenHelper;
+    private AuthTokenService authTokenService;
 
     @MockitoBean
     private CustomUserDetailService customUserDetailService;
@@ -49,6 +56,9 @@ public class AuthControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private LoginRateLimiter loginRateLimiter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -67,14 +77,55 @@ public class AuthControllerTest {
 
         when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(auth);
         when(customUserDetailService.loadUserByUsername(anyString())).thenReturn(userDetails);
-        when(jwtTokenHelper.generateToken(anyString())).thenReturn("test.jwt.token");
+        when(authTokenService.issue(any(UserDetails.class))).thenReturn(new JwtAuthResponse("test.jwt.token", "test.refresh.token"));
 
         mockMvc.perform(post("/api/auth/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(jwtAuthRequest)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.token").value("test.jwt.token"));
+                .andExpect(jsonPath("$.token").value("test.jwt.token"))
+                .andExpect(jsonPath("$.refreshToken").value("test.refresh.token"));
+    }
+
+    @Test
+    void testRefreshToken_Success() throws Exception
+    {
+        when(authTokenService.refresh("old.refresh.token")).thenReturn(new JwtAuthResponse("new.jwt.token", "new.refresh.token"));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest("old.refresh.token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("new.jwt.token"))
+                .andExpect(jsonPath("$.refreshToken").value("new.refresh.token"));
+    }
+
+    @Test
+    void testRefreshToken_Reused() throws Exception
+    {
+        when(authTokenService.refresh("old.refresh.token")).thenThrow(new BadCredentialsException("Refresh token was already used"));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest("old.refresh.token"))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testLogout_RevokesBothTokens() throws Exception
+    {
+        mockMvc.perform(post("/api/auth/logout")
+                .with(csrf())
+                .header("Authorization", "Bearer access.token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh.token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(true));
+
+        verify(authTokenService).logout("refresh.token", "access.token");
     }
 
     @Test
@@ -89,6 +140,36 @@ public class AuthControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void testCreateToken_Throttled_NeverAuthenticates() throws Exception
+    {
+        doThrow(new TooManyRequestsException("Too many login attempts for this account, try again later", Duration.ofMillis(11_200)))
+                .when(loginRateLimiter).checkLogin(anyString(), eq(jwtAuthRequest.getEmail()));
+
+        mockMvc.perform(post("/api/auth/login")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(jwtAuthRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "12"));
+
+        verify(authenticationManager, never()).authenticate(any(Authentication.class));
+    }
+
+    @Test
+    void testCreateToken_HashingSaturated() throws Exception
+    {
+        when(authenticationManager.authenticate(any(Authentication.class))).thenThrow(new TooManyRequestsException("Too many login or registration requests, try again shortly"));
+
+        mockMvc.perform(post("/api/auth/login")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(jwtAuthRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(false));
+    }
+
     @Test
     void testRegisterUser_Success() throws Exception
     {
@@ -108,4 +189,23 @@ public class AuthControllerTest {
                 .andExpect(jsonPath("$.name").value(newUserDto.getName()))
                 .andExpect(jsonPath("$.email").value(newUserDto.getEmail()));
     }
+
+    @Test
+    void testRegisterUser_DuplicateEmail() throws Exception
+    {
+        UserDto newUserDto = new UserDto();
+        newUserDto.setName("Test user");
+        newUserDto.setEmail("Test@Example.com");
+        newUserDto.setPassword("pass@123");
+        newUserDto.setAbout("Test about");
+
+        when(userService.registerUser(any(UserDto.class))).thenThrow(new DuplicateEmailException("User already exists with email: Test@Example.com"));
+
+        mockMvc.perform(post("/api/auth/register")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newUserDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(false));
+    }
 }
@@ -1,10 +1,15 @@
 package com.blog_application.blogApp.controller;
 
+import com.blog_application.blogApp.cache.PrincipalCache;
+import com.blog_application.blogApp.cache.VerifiedTokenCache;
 import com.blog_application.blogApp.config.SecurityConfig;
 import com.blog_application.blogApp.exceptionHandler.CategoryNotFoundException;
 import com.blog_application.blogApp.payloads.CategoryDto;
 import com.blog_application.blogApp.security.CustomUserDetailService;
 import com.blog_application.blogApp.security.JwtTokenHelper;
+import com.blog_application.blogApp.security.PasswordHashingExecutor;
+import com.blog_application.blogApp.security.TokenRevocationList;
+import com.blog_application.blogApp.security.TokenVersionRegistry;
 import com.blog_application.blogApp.service.CategoryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.With;
@@ -42,6 +47,21 @@ public class CategoryControllerTest {
     @MockitoBean
     private JwtTokenHelper jwtTokenHelper;
 
+    @MockitoBean
+    private PrincipalCache principalCache;
+
+    @MockitoBean
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @MockitoBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @MockitoBean
+    private TokenRevocationList tokenRevocationList;
+
     @Autowired
     private ObjectMapper objectMapper;
 
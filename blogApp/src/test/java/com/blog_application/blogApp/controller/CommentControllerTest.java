@@ -1,9 +1,14 @@
 package com.blog_application.blogApp.controller;
 
+import com.blog_application.blogApp.cache.PrincipalCache;
+import com.blog_application.blogApp.cache.VerifiedTokenCache;
 import com.blog_application.blogApp.config.SecurityConfig;
 import com.blog_application.blogApp.payloads.CommentDto;
 import com.blog_application.blogApp.security.CustomUserDetailService;
 import com.blog_application.blogApp.security.JwtTokenHelper;
+import com.blog_application.blogApp.security.PasswordHashingExecutor;
+import com.blog_application.blogApp.security.TokenRevocationList;
+import com.blog_application.blogApp.security.TokenVersionRegistry;
 import com.blog_application.blogApp.service.CommentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +43,21 @@ public class CommentControllerTest {
     @MockitoBean
     private JwtTokenHelper jwtTokenHelper;
 
+    @MockitoBean
+    private PrincipalCache principalCache;
+
+    @MockitoBean
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @MockitoBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @MockitoBean
+    private TokenRevocationList tokenRevocationList;
+
     @Autowired
     ObjectMapper objectMapper;
 
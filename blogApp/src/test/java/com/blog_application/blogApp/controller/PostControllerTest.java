@@ -1,8 +1,13 @@
 package com.blog_application.blogApp.controller;
 
 import com.blog_application.blogApp.config.AppConstants;
+import com.blog_application.blogApp.payloads.BulkPostResponse;
+import com.blog_application.blogApp.payloads.BulkPostResult;
 import com.blog_application.blogApp.payloads.PostDto;
+import com.blog_application.blogApp.payloads.PostExportDto;
 import com.blog_application.blogApp.payloads.PostResponse;
+import com.blog_application.blogApp.payloads.PostSuggestionDto;
+import com.blog_application.blogApp.payloads.PostSummaryDto;
 import com.blog_application.blogApp.service.FileService;
 import com.blog_application.blogApp.service.PostService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,6 +15,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -20,7 +26,9 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -28,6 +36,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PostController.class)
+@Import(NdjsonStreamer.class)
 public class PostControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -54,7 +63,7 @@ public class PostControllerTest {
         postDto.setImageName("default.png");
 
         postResponse =  new PostResponse();
-        postResponse.setContent(Collections.singletonList(postDto));
+        postResponse.setContent(Collections.singletonList(new PostSummaryDto(1, postDto.getTitle(), postDto.getContent(), postDto.getImageName(), null, "Shubham", "Cricket")));
         postResponse.setPageNumber(0);
         postResponse.setPageSize(10);
         postResponse.setTotalElements(1L);
@@ -81,31 +90,112 @@ public class PostControllerTest {
     @WithMockUser(roles = {"USER"})
     void testGetPostByPostId_Success_asUser() throws Exception
     {
+        when(postService.getPostVersion(anyInt())).thenReturn("v1");
         when(postService.getPostById(anyInt())).thenReturn(postDto);
 
         mockMvc.perform(get("/api/posts/{postId}", 1)
                 .with(csrf()))
-                .andExpect(status().isFound())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v1\""))
                 .andExpect(jsonPath("$.title").value(postDto.getTitle()));
         verify(postService,times(1)).getPostById(1);
     }
 
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void testGetPostByPostId_NotModified_asUser() throws Exception
+    {
+        when(postService.getPostVersion(anyInt())).thenReturn("v1");
+
+        mockMvc.perform(get("/api/posts/{postId}", 1)
+                .with(csrf())
+                .header("If-None-Match", "\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"v1\""))
+                .andExpect(content().string(""));
+        verify(postService,never()).getPostById(anyInt());
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void testGetPostByPostId_StaleETag_asUser() throws Exception
+    {
+        when(postService.getPostVersion(anyInt())).thenReturn("v2");
+        when(postService.getPostById(anyInt())).thenReturn(postDto);
+
+        mockMvc.perform(get("/api/posts/{postId}", 1)
+                .with(csrf())
+                .header("If-None-Match", "\"v1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v2\""));
+        verify(postService,times(1)).getPostById(1);
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN"})
     void testGetAllPosts_Success_asAdmin() throws Exception
     {
+        when(postService.getAllPostsVersion()).thenReturn("v1");
         when(postService.getAllPosts(anyInt(),anyInt(),anyString(),anyString())).thenReturn(postResponse);
 
         mockMvc.perform(get("/api/posts")
                 .with(csrf())
                 .param("pageNumber","0")
                 .param("pageSize","10"))
-                .andExpect(status().isFound())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"v1\""))
                 .andExpect(jsonPath("$.content[0].title").value(postDto.getTitle()));
 
         verify(postService, times(1)).getAllPosts(0,10, AppConstants.SORT_BY,AppConstants.SORT_DIR);
     }
 
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void testGetAllPosts_NotModified_asUser() throws Exception
+    {
+        when(postService.getAllPostsVersion()).thenReturn("v1");
+
+        mockMvc.perform(get("/api/posts")
+                .with(csrf())
+                .header("If-None-Match", "W/\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(postService, never()).getAllPosts(anyInt(),anyInt(),anyString(),anyString());
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void testGetAllPosts_WithCursor_asUser() throws Exception
+    {
+        when(postService.scrollAllPosts(anyString(),anyInt(),anyString(),anyString())).thenReturn(postResponse);
+
+        mockMvc.perform(get("/api/posts")
+                .with(csrf())
+                .param("cursor","abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value(postDto.getTitle()));
+
+        verify(postService, times(1)).scrollAllPosts("abc",5, AppConstants.SORT_BY,AppConstants.SORT_DIR);
+        verify(postService, never()).getAllPosts(anyInt(),anyInt(),anyString(),anyString());
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void testGetAllPostsByCategory_WithoutTotals_asUser() throws Exception
+    {
+        when(postService.slicePostsByCategory(anyInt(),anyInt(),anyInt(),anyString(),anyString())).thenReturn(postResponse);
+
+        mockMvc.perform(get("/api/category/{categoryId}/posts",1)
+                .with(csrf())
+                .param("withTotals","false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value(postDto.getTitle()));
+
+        verify(postService, times(1)).slicePostsByCategory(1,0,5,AppConstants.SORT_BY,AppConstants.SORT_DIR);
+        verify(postService, never()).getPostsByCategory(anyInt(),anyInt(),anyInt(),anyString(),anyString());
+    }
+
     @Test
     @WithMockUser(roles = {"USER"})
     void testGetAllPostsByCategory_Success_asUser() throws Exception{
@@ -114,11 +204,24 @@ public class PostControllerTest {
 
         mockMvc.perform(get("/api/category/{categoryId}/posts",1)
                 .with(csrf()))
-                .andExpect(status().isFound())
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].title").value(postDto.getTitle()));
         verify(postService, times(1)).getPostsByCategory(1,0,5,AppConstants.SORT_BY,AppConstants.SORT_DIR);
     }
 
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void testGetAllPostsByCategory_NotModified_asUser() throws Exception{
+
+        when(postService.getPostsByCategoryVersion(1)).thenReturn("v3");
+
+        mockMvc.perform(get("/api/category/{categoryId}/posts",1)
+                .with(csrf())
+                .header("If-None-Match", "W/\"v3\""))
+                .andExpect(status().isNotModified());
+        verify(postService, never()).getPostsByCategory(anyInt(),anyInt(),anyInt(),anyString(),anyString());
+    }
+
     @Test
     @WithMockUser(roles = {"USER"})
     void testUpdatePost_Success_asUser() throws Exception
@@ -153,15 +256,76 @@ public class PostControllerTest {
     @WithMockUser(roles ={"USER"})
     void testSearchPostByTitle_Success_aasUser() throws Exception
     {
-        List<PostDto> postDtos = Collections.singletonList(postDto);
-        when(postService.searchPosts(anyString())).thenReturn(postDtos);
+        when(postService.searchPosts(anyString(),anyInt(),anyInt(),any())).thenReturn(postResponse);
 
         mockMvc.perform(get("/api/posts/search/{keyword}","Test")
                 .with(csrf()))
                 .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value(postDto.getTitle()));
+
+        verify(postService, times(1)).searchPosts("Test",0,5,null);
+    }
+
+    @Test
+    @WithMockUser(roles ={"USER"})
+    void testSuggestPosts_Success_asUser() throws Exception
+    {
+        when(postService.suggestPosts(anyString(),anyInt())).thenReturn(List.of(new PostSuggestionDto(1, postDto.getTitle())));
+
+        mockMvc.perform(get("/api/posts/suggest")
+                .with(csrf())
+                .param("prefix","ind"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].title").value(postDto.getTitle()));
 
-        verify(postService, times(1)).searchPosts("Test");
+        verify(postService, times(1)).suggestPosts("ind",5);
+        verify(postService, never()).getPostById(anyInt());
+    }
+
+    @Test
+    @WithMockUser(roles ={"ADMIN"})
+    void testCreatePosts_ReportsEveryPost_asAdmin() throws Exception
+    {
+        BulkPostResponse bulkPostResponse = new BulkPostResponse(1, 1, List.of(
+                new BulkPostResult(0, true, 7, "Post created"),
+                new BulkPostResult(1, false, null, "User not found with id: 42")));
+        when(postService.createPosts(anyList())).thenReturn(bulkPostResponse);
+
+        mockMvc.perform(post("/api/posts/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(postDto, postDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].id").value(7))
+                .andExpect(jsonPath("$.results[1].success").value(false));
+
+        verify(postService, times(1)).createPosts(argThat(postDtos -> postDtos.size() == 2));
+    }
+
+    @Test
+    @WithMockUser(roles ={"ADMIN"})
+    void testExportPosts_WritesOnePostPerLine_asAdmin() throws Exception
+    {
+        doAnswer(invocation -> {
+            Consumer<PostExportDto> consumer = invocation.getArgument(0);
+            consumer.accept(new PostExportDto(1, "Indian Cricket Team", "First line\nSecond line", "default.png", null, "Shubham", "Cricket"));
+            consumer.accept(new PostExportDto(2, "World Cup Final", "Content", "default.png", null, "Shubham", "Cricket"));
+            return null;
+        }).when(postService).exportPosts(any());
+
+        String body = mockMvc.perform(get("/api/posts/export")
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("First line\nSecond line", objectMapper.readValue(lines[0], PostExportDto.class).getContent());
+        assertEquals(2, objectMapper.readValue(lines[1], PostExportDto.class).getId());
+        assertTrue(body.endsWith("\n"));
     }
 
     @Test
@@ -1,12 +1,15 @@
 package com.blog_application.blogApp.controller;
 
 import com.blog_application.blogApp.payloads.UserDto;
+import com.blog_application.blogApp.payloads.UserPageResponse;
+import com.blog_application.blogApp.payloads.UserSummaryDto;
 import com.blog_application.blogApp.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
@@ -17,13 +20,16 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
+@Import(NdjsonStreamer.class)
 public class UserControllerTest {
 
     @Autowired
@@ -156,4 +162,64 @@ public class UserControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testGetUsersPage_asAdmin() throws Exception
+    {
+        UserPageResponse page = new UserPageResponse(List.of(new UserSummaryDto(1, "Shubham", "shub@gmail.com", "He is java developer", "ROLE_USER")), 1, false, "MQ");
+        when(userService.scrollUsers("MA", 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/users/page")
+                .param("cursor", "MA")
+                .param("pageSize", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].email").value("shub@gmail.com"))
+                .andExpect(jsonPath("$.content[0].password").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("MQ"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testGetUsersPage_PageSizeCapped() throws Exception
+    {
+        when(userService.scrollUsers(null, 1000)).thenReturn(new UserPageResponse(List.of(), 1000, true, null));
+
+        mockMvc.perform(get("/api/users/page")
+                .param("pageSize", "1000000"))
+                .andExpect(status().isOk());
+
+        verify(userService, times(1)).scrollUsers(null, 1000);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testExportUsers_WritesOneUserPerLine_asAdmin() throws Exception
+    {
+        doAnswer(invocation -> {
+            Consumer<UserSummaryDto> consumer = invocation.getArgument(0);
+            consumer.accept(new UserSummaryDto(1, "Shubham", "shub@gmail.com", "First line\nSecond line", "ROLE_USER"));
+            consumer.accept(new UserSummaryDto(2, "Rushikesh", "rushi@gmail.com", "I am admin", "ROLE_ADMIN"));
+            return null;
+        }).when(userService).exportUsers(any());
+
+        String body = mockMvc.perform(get("/api/users/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("First line\nSecond line", objectMapper.readTree(lines[0]).get("about").asText());
+        assertEquals("ROLE_ADMIN", objectMapper.readTree(lines[1]).get("roleName").asText());
+        assertTrue(body.endsWith("\n"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void testExportUsers_Forbidden_asUser() throws Exception
+    {
+        mockMvc.perform(get("/api/users/export"));
+
+        verify(userService, never()).exportUsers(any());
+    }
 }
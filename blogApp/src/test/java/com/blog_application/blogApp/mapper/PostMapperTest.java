@@ -0,0 +1,84 @@
+package com.blog_application.blogApp.mapper;
+
+import com.blog_application.blogApp.entity.Category;
+import com.blog_application.blogApp.entity.Comment;
+import com.blog_application.blogApp.entity.Post;
+import com.blog_application.blogApp.entity.Role;
+import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.payloads.CategoryDto;
+import com.blog_application.blogApp.payloads.PostDto;
+import com.blog_application.blogApp.payloads.UserDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostMapperTest {
+
+    private PostMapper postMapper;
+
+    private User user;
+    private Post post;
+
+    @BeforeEach
+    void setUp()
+    {
+        UserMapper userMapper = new UserMapperImpl();
+        postMapper = new PostMapperImpl(userMapper, new CategoryMapperImpl(), new CommentMapperImpl(userMapper));
+
+        user = new User();
+        user.setId(1);
+        user.setName("shubham");
+        user.setEmail("shubham@gmail.com");
+        user.setAbout("I am Java Developer");
+        user.setRole(new Role(1, "ROLE_USER"));
+
+        post = new Post();
+        post.setPostId(10);
+        post.setTitle("Indian Cricket Team Journey in ICC ODI WordCup");
+        post.setContent("Indian cricket team is world best cricket team");
+        post.setImageName("default-image.jpg");
+        post.setAddedDate(new Date());
+        post.setUser(user);
+        post.setCategory(new Category(101, "Cricket", "All about cricket", null));
+        post.setComments(List.of(new Comment(5, "Nice post", user, post)));
+    }
+
+    @Test
+    void testToDto_MapsPostAndAssociations()
+    {
+        PostDto postDto = postMapper.toDto(post);
+
+        assertEquals(10, postDto.getId());
+        assertEquals(post.getTitle(), postDto.getTitle());
+        assertEquals(post.getContent(), postDto.getContent());
+        assertEquals("shubham", postDto.getUser().getName());
+        assertEquals("ROLE_USER", postDto.getUser().getRoleName());
+        assertEquals("Cricket", postDto.getCategory().getCategoryTitle());
+        assertEquals(1, postDto.getComments().size());
+        assertEquals(5, postDto.getComments().get(0).getId());
+        assertEquals("shubham@gmail.com", postDto.getComments().get(0).getUser().getEmail());
+    }
+
+    @Test
+    void testToEntity_IgnoresAssociations()
+    {
+        PostDto postDto = new PostDto();
+        postDto.setId(10);
+        postDto.setTitle("Updated title");
+        postDto.setContent("Updated content");
+        postDto.setUser(new UserDto(2, "virat", "virat@gmail.com", "virat@123", "Other user", "ROLE_ADMIN"));
+        postDto.setCategory(new CategoryDto(7, "Football", "All about football"));
+
+        Post mappedPost = postMapper.toEntity(postDto);
+
+        assertEquals(10, mappedPost.getPostId());
+        assertEquals("Updated title", mappedPost.getTitle());
+        assertNull(mappedPost.getUser());
+        assertNull(mappedPost.getCategory());
+        assertTrue(mappedPost.getComments().isEmpty());
+    }
+}
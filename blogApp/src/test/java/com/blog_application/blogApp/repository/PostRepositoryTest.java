@@ -0,0 +1,191 @@
+package com.blog_application.blogApp.repository;
+
+import com.blog_application.blogApp.entity.Category;
+import com.blog_application.blogApp.entity.Comment;
+import com.blog_application.blogApp.entity.Post;
+import com.blog_application.blogApp.entity.Role;
+import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.payloads.PostExportDto;
+import com.blog_application.blogApp.payloads.PostSummaryDto;
+import com.blog_application.blogApp.payloads.PostTextDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class PostRepositoryTest {
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Category category;
+
+    @BeforeEach
+    void setUp()
+    {
+        Role role = new Role(null, "ROLE_USER");
+        entityManager.persist(role);
+
+        category = new Category(null, "Cricket", "All about cricket", new ArrayList<>());
+        entityManager.persist(category);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            User user = new User();
+            user.setName("user" + i);
+            user.setEmail("user" + i + "@gmail.com");
+            user.setPassword("secret");
+            user.setAbout("I am user " + i);
+            user.setRole(role);
+            entityManager.persist(user);
+            users.add(user);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            Post post = new Post();
+            post.setTitle("Post " + i);
+            post.setContent("Content of post " + i);
+            post.setAddedDate(new Date());
+            post.setUser(users.get(i % users.size()));
+            post.setCategory(category);
+            entityManager.persist(post);
+
+            for (int j = 0; j < 3; j++) {
+                Comment comment = new Comment();
+                comment.setContent("Comment " + j);
+                comment.setUser(users.get(j % users.size()));
+                comment.setPost(post);
+                entityManager.persist(comment);
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testSummaryPageIsSingleSelect()
+    {
+        Slice<PostSummaryDto> slice = postRepository.findSummarySliceByCategory(category, PageRequest.of(0, 10, Sort.by("postId")));
+
+        assertEquals(10, slice.getContent().size());
+        assertEquals("Post 0", slice.getContent().get(0).getTitle());
+        assertEquals("user0", slice.getContent().get(0).getAuthorName());
+        assertEquals("Cricket", slice.getContent().get(0).getCategoryTitle());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testSummaryExcerptIsTruncated()
+    {
+        Post post = postRepository.findById(postRepository.findSummaryBy(PageRequest.of(0, 1)).getContent().get(0).getId()).get();
+        post.setContent("x".repeat(5000));
+        entityManager.flush();
+        entityManager.clear();
+
+        PostSummaryDto summary = postRepository.findSummaryBy(PageRequest.of(0, 1, Sort.by("postId"))).getContent().get(0);
+
+        assertEquals(200, summary.getExcerpt().length());
+    }
+
+    @Test
+    void testSaveAllBatchesInsertsWithPooledIds()
+    {
+        Post existing = postRepository.findById(postRepository.findSummaryBy(PageRequest.of(0, 1)).getContent().get(0).getId()).get();
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Post post = new Post();
+            post.setTitle("Bulk " + i);
+            post.setContent("Bulk content " + i);
+            post.setAddedDate(new Date());
+            post.setUser(existing.getUser());
+            post.setCategory(existing.getCategory());
+            posts.add(post);
+        }
+        statistics.clear();
+
+        List<Post> saved = postRepository.saveAll(posts);
+        entityManager.flush();
+
+        // Without batching every row would prepare its own insert statement
+        assertTrue(statistics.getPrepareStatementCount() < 10);
+        assertEquals(120, statistics.getEntityInsertCount());
+        for (int i = 1; i < saved.size(); i++) {
+            assertTrue(saved.get(i - 1).getPostId() < saved.get(i).getPostId());
+        }
+        assertTrue(saved.get(0).getPostId() > existing.getPostId());
+    }
+
+    @Test
+    void testSearchHitsLoadInOneSelect()
+    {
+        List<Integer> postIds = postRepository.findSummaryBy(PageRequest.of(0, 20)).getContent().stream().map(PostSummaryDto::getId).toList();
+        statistics.clear();
+
+        List<PostSummaryDto> summaries = postRepository.findSummaryByPostIdIn(postIds.subList(0, 10));
+
+        assertEquals(10, summaries.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testStreamTextReadsOnlyIndexedColumns()
+    {
+        List<PostTextDto> posts;
+        try (Stream<PostTextDto> stream = postRepository.streamText()) {
+            posts = stream.toList();
+        }
+
+        assertEquals(20, posts.size());
+        assertTrue(posts.get(0).getContent().startsWith("Content of post"));
+        assertEquals(3, posts.get(0).getCommentCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testStreamExportJoinsAuthorAndCategoryInOneSelect()
+    {
+        List<PostExportDto> posts;
+        try (Stream<PostExportDto> stream = postRepository.streamExport()) {
+            posts = stream.toList();
+        }
+
+        assertEquals(20, posts.size());
+        assertEquals("Post 0", posts.get(0).getTitle());
+        assertEquals("user0", posts.get(0).getAuthorName());
+        assertEquals("Cricket", posts.get(0).getCategoryTitle());
+        for (int i = 1; i < posts.size(); i++) {
+            assertTrue(posts.get(i - 1).getId() < posts.get(i).getId());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,21 @@
+package com.blog_application.blogApp.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingFetchTest {
+
+    @Test
+    void testFetchSize_MySqlStreamsRowByRow()
+    {
+        assertEquals(Integer.MIN_VALUE, StreamingFetch.fetchSize("MySQL"));
+    }
+
+    @Test
+    void testFetchSize_OtherDatabasesFetchInBatches()
+    {
+        assertEquals(StreamingFetch.BATCH_FETCH_SIZE, StreamingFetch.fetchSize("H2"));
+        assertEquals(StreamingFetch.BATCH_FETCH_SIZE, StreamingFetch.fetchSize((String) null));
+    }
+}
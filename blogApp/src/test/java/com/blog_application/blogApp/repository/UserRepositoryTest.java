@@ -0,0 +1,139 @@
+package com.blog_application.blogApp.repository;
+
+import com.blog_application.blogApp.config.UserEmailInitializer;
+import com.blog_application.blogApp.entity.Role;
+import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.payloads.UserSummaryDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class UserRepositoryTest {
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private Role role;
+
+    @BeforeEach
+    void setUp()
+    {
+        role = new Role(null, "ROLE_USER");
+        entityManager.persist(role);
+        for (int i = 0; i < 50; i++) {
+            entityManager.persist(user("User" + i + "@Gmail.com"));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testFindByEmail_SingleStatementWithRole()
+    {
+        Optional<User> user = userRepository.findByEmail(" user7@GMAIL.com");
+
+        assertTrue(user.isPresent());
+        assertEquals("User7@Gmail.com", user.get().getEmail());
+        assertTrue(Hibernate.isInitialized(user.get().getRole()));
+        assertEquals("ROLE_USER", user.get().getRole().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindByEmail_UsesUniqueIndex()
+    {
+        @SuppressWarnings("unchecked")
+        List<Object> plan = entityManager.createNativeQuery("explain select * from users where email_normalized = 'user7@gmail.com'").getResultList();
+
+        assertTrue(String.valueOf(plan.get(0)).toLowerCase().contains(User.EMAIL_CONSTRAINT), String.valueOf(plan.get(0)));
+    }
+
+    @Test
+    void testSave_DuplicateEmailInOtherCaseRejected()
+    {
+        assertThrows(DataIntegrityViolationException.class, () -> userRepository.saveAndFlush(user("USER7@gmail.com ")));
+    }
+
+    @Test
+    void testSummaryWindow_SeeksWithoutLoadingUsers()
+    {
+        List<Integer> seen = new ArrayList<>();
+        Window<UserSummaryDto> window = userRepository.findSummaryBy(ScrollPosition.keyset(), Limit.of(20), Sort.by("id"));
+        seen.addAll(window.getContent().stream().map(UserSummaryDto::getId).toList());
+        while(window.hasNext())
+        {
+            window = userRepository.findSummaryBy(window.positionAt(window.size() - 1), Limit.of(20), Sort.by("id"));
+            seen.addAll(window.getContent().stream().map(UserSummaryDto::getId).toList());
+        }
+
+        assertEquals(50, seen.size());
+        assertEquals(seen.stream().sorted().toList(), seen);
+        assertEquals("ROLE_USER", window.getContent().get(0).getRoleName());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void testStreamSummaries_AllUsersInIdOrder()
+    {
+        try (Stream<UserSummaryDto> users = userRepository.streamSummaries()) {
+            List<UserSummaryDto> all = users.toList();
+
+            assertEquals(50, all.size());
+            assertEquals("User0@Gmail.com", all.get(0).getEmail());
+        }
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testUserEmailInitializer_BackfillsMissingNormalizedEmails()
+    {
+        entityManager.createNativeQuery("update users set email_normalized = null where email = 'User7@Gmail.com'").executeUpdate();
+        entityManager.createNativeQuery("update users set email_normalized = '' where email = 'User8@Gmail.com'").executeUpdate();
+
+        new UserEmailInitializer(entityManager, transactionManager).afterSingletonsInstantiated();
+        entityManager.clear();
+
+        assertTrue(userRepository.findByEmail("user7@gmail.com").isPresent());
+        assertTrue(userRepository.findByEmail(" USER8@gmail.com").isPresent());
+    }
+
+    private User user(String email)
+    {
+        return new User(null, "name", email, "secret", "about", new ArrayList<>(), new ArrayList<>(), role, 0);
+    }
+}
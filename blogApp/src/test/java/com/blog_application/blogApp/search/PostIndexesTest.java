@@ -0,0 +1,27 @@
+package com.blog_application.blogApp.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostIndexesTest {
+
+    @Test
+    void testEvict_RemovesFromSearchIndexAndTitleTrie()
+    {
+        PostSearchIndex postSearchIndex = new PostSearchIndex();
+        PostTitleTrie postTitleTrie = new PostTitleTrie();
+        for(int postId = 1; postId <= 3; postId++)
+        {
+            postSearchIndex.index(postId, "Cricket match " + postId, "content");
+            postTitleTrie.index(postId, "Cricket match " + postId, 0);
+        }
+
+        new PostIndexes(postSearchIndex, postTitleTrie).evict(List.of(1, 3));
+
+        assertEquals(List.of(2), postSearchIndex.search("cricket", null, 0, 10).hits().stream().map(ScoredPost::postId).toList());
+        assertEquals(List.of(2), postTitleTrie.suggest("cri", 10).stream().map(PostTitleTrie.Suggestion::postId).toList());
+    }
+}
@@ -0,0 +1,124 @@
+package com.blog_application.blogApp.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostSearchIndexTest {
+
+    private PostSearchIndex postSearchIndex;
+
+    @BeforeEach
+    void setUp()
+    {
+        postSearchIndex = new PostSearchIndex();
+        postSearchIndex.index(1, "Indian Cricket Team", "Won the world cup under Kapil Dev");
+        postSearchIndex.index(2, "Football in Europe", "The world cup of football is played every four years");
+        postSearchIndex.index(3, "Café culture", "Cricket fans meet in cafés");
+    }
+
+    @Test
+    void testSearch_TitleMatchRanksFirst()
+    {
+        assertEquals(List.of(1, 3), ids(postSearchIndex.search("cricket", null, 0, 10)));
+    }
+
+    @Test
+    void testSearch_MoreMatchingTermsRankHigher()
+    {
+        SearchHits searchHits = postSearchIndex.search("world cup football", null, 0, 10);
+
+        assertEquals(List.of(2, 1), ids(searchHits));
+        assertEquals(2, searchHits.totalHits());
+    }
+
+    @Test
+    void testSearch_NormalizesCaseAndAccents()
+    {
+        assertEquals(List.of(3), ids(postSearchIndex.search("CAFE", null, 0, 10)));
+        assertEquals(0, postSearchIndex.search("  --  ", null, 0, 10).totalHits());
+    }
+
+    @Test
+    void testSearch_PagesMatchTheFullRanking()
+    {
+        for(int i = 10; i < 60; i++)
+        {
+            postSearchIndex.index(i, "Match report " + i, "cricket ".repeat(1 + i % 7) + "filler text ".repeat(i % 5));
+        }
+        List<Integer> full = ids(postSearchIndex.search("cricket match", null, 0, 100));
+        assertEquals(52, full.size());
+
+        List<Integer> byOffset = new ArrayList<>();
+        List<Integer> byCursor = new ArrayList<>();
+        ScoredPost after = null;
+        for(int page = 0; page < 6; page++)
+        {
+            SearchHits offsetHits = postSearchIndex.search("cricket match", null, page * 10, 10);
+            assertEquals(52, offsetHits.totalHits());
+            byOffset.addAll(ids(offsetHits));
+
+            SearchHits cursorHits = postSearchIndex.search("cricket match", after, 0, 10);
+            byCursor.addAll(ids(cursorHits));
+            if(!cursorHits.hits().isEmpty())
+            {
+                after = cursorHits.hits().get(cursorHits.hits().size() - 1);
+            }
+        }
+
+        assertEquals(full, byOffset);
+        assertEquals(full, byCursor);
+    }
+
+    @Test
+    void testSearch_SkipNearIntegerMaxReturnsEmptyPage()
+    {
+        SearchHits searchHits = postSearchIndex.search("cricket", null, Integer.MAX_VALUE - 1, 10);
+
+        assertTrue(searchHits.hits().isEmpty());
+        assertEquals(2, searchHits.totalHits());
+    }
+
+    @Test
+    void testSearch_IgnoresTermsPastTheLimit()
+    {
+        String filler = "zzz ".repeat(PostSearchIndex.MAX_QUERY_TERMS).trim();
+        StringBuilder query = new StringBuilder();
+        for(int i = 0; i < PostSearchIndex.MAX_QUERY_TERMS; i++)
+        {
+            query.append("filler").append(i).append(' ');
+        }
+
+        assertEquals(List.of(1, 3), ids(postSearchIndex.search(filler + " cricket", null, 0, 10)));
+        assertEquals(0, postSearchIndex.search(query + "cricket", null, 0, 10).totalHits());
+    }
+
+    @Test
+    void testIndex_UpdateReplacesOldTerms()
+    {
+        postSearchIndex.index(1, "Indian Hockey Team", "Olympic medals");
+
+        assertEquals(List.of(3), ids(postSearchIndex.search("cricket", null, 0, 10)));
+        assertEquals(List.of(1), ids(postSearchIndex.search("hockey", null, 0, 10)));
+        assertEquals(3, postSearchIndex.size());
+    }
+
+    @Test
+    void testRemove_DropsPostings()
+    {
+        postSearchIndex.remove(2);
+
+        assertEquals(0, postSearchIndex.search("football", null, 0, 10).totalHits());
+        assertEquals(List.of(1), ids(postSearchIndex.search("world", null, 0, 10)));
+        assertEquals(2, postSearchIndex.size());
+    }
+
+    private static List<Integer> ids(SearchHits searchHits)
+    {
+        return searchHits.hits().stream().map(ScoredPost::postId).toList();
+    }
+}
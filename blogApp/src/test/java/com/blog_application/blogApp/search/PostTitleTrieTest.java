@@ -0,0 +1,126 @@
+package com.blog_application.blogApp.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostTitleTrieTest {
+
+    private PostTitleTrie postTitleTrie;
+
+    @BeforeEach
+    void setUp()
+    {
+        postTitleTrie = new PostTitleTrie();
+        postTitleTrie.index(1, "Indian Cricket Team", 5);
+        postTitleTrie.index(2, "India Travel Guide", 9);
+        postTitleTrie.index(3, "World Cup Final", 2);
+        postTitleTrie.index(4, "Indie Games of the Year", 0);
+    }
+
+    @Test
+    void testSuggest_RanksByPopularity()
+    {
+        assertEquals(List.of(2, 1, 4), ids(postTitleTrie.suggest("ind", 10)));
+        assertEquals(List.of(2, 1), ids(postTitleTrie.suggest("Ind", 2)));
+    }
+
+    @Test
+    void testSuggest_MatchesAnyWordStart()
+    {
+        assertEquals(List.of(1), ids(postTitleTrie.suggest("cricket t", 10)));
+        assertEquals(List.of(3), ids(postTitleTrie.suggest("cup", 10)));
+        assertEquals(List.of(), ids(postTitleTrie.suggest("ricket", 10)));
+    }
+
+    @Test
+    void testSuggest_TrailingSpaceNeedsWholeWord()
+    {
+        assertEquals(List.of(1), ids(postTitleTrie.suggest("indian ", 10)));
+        assertEquals(List.of(2), ids(postTitleTrie.suggest("india ", 10)));
+    }
+
+    @Test
+    void testUpdates_KeepSuggestionsCurrent()
+    {
+        postTitleTrie.addPopularity(4, 10);
+        assertEquals(List.of(4, 2, 1), ids(postTitleTrie.suggest("ind", 10)));
+
+        postTitleTrie.updateTitle(2, "Japan Travel Guide");
+        assertEquals(List.of(4, 1), ids(postTitleTrie.suggest("ind", 10)));
+        assertEquals(List.of(2), ids(postTitleTrie.suggest("travel", 10)));
+
+        postTitleTrie.remove(1);
+        assertEquals(List.of(4), ids(postTitleTrie.suggest("ind", 10)));
+        assertEquals(3, postTitleTrie.size());
+    }
+
+    @Test
+    void testSuggest_MatchesBruteForceUnderRandomWrites()
+    {
+        String[] words = {"cricket", "cric", "world", "word", "cup", "cupcake", "india", "indian", "team", "tea"};
+        Random random = new Random(42);
+        Map<Integer, String> titles = new HashMap<>();
+        Map<Integer, Integer> popularity = new HashMap<>();
+
+        for(int step = 0; step < 3000; step++)
+        {
+            int postId = random.nextInt(300);
+            int action = random.nextInt(4);
+            if(action == 0 && titles.containsKey(postId))
+            {
+                postTitleTrie.remove(postId);
+                titles.remove(postId);
+                popularity.remove(postId);
+            }else if(action == 1 && titles.containsKey(postId))
+            {
+                postTitleTrie.addPopularity(postId, 1);
+                popularity.merge(postId, 1, Integer::sum);
+            }else
+            {
+                String title = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                int score = random.nextInt(20);
+                postTitleTrie.index(postId, title, score);
+                titles.put(postId, title);
+                popularity.put(postId, score);
+            }
+        }
+
+        for(String prefix : List.of("c", "cr", "cric", "cricket ", "cu", "w", "wor", "world c", "i", "india", "t", "tea"))
+        {
+            assertEquals(bruteForce(titles, popularity, prefix), ids(postTitleTrie.suggest(prefix, PostTitleTrie.TOP_N)), prefix);
+        }
+    }
+
+    private static List<Integer> bruteForce(Map<Integer, String> titles, Map<Integer, Integer> popularity, String prefix)
+    {
+        List<Integer> matches = new ArrayList<>();
+        titles.forEach((postId, title) -> {
+            List<String> words = SearchTokenizer.tokenize(title);
+            for(int i = 0; i < words.size(); i++)
+            {
+                if(String.join(" ", words.subList(i, words.size())).startsWith(prefix))
+                {
+                    matches.add(postId);
+                    return;
+                }
+            }
+        });
+        matches.sort(Comparator.comparing((Integer postId) -> popularity.get(postId)).reversed()
+                .thenComparing(Comparator.reverseOrder()));
+        return matches.subList(0, Math.min(PostTitleTrie.TOP_N, matches.size()));
+    }
+
+    private static List<Integer> ids(List<PostTitleTrie.Suggestion> suggestions)
+    {
+        return suggestions.stream().map(PostTitleTrie.Suggestion::postId).toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.blog_application.blogApp.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostingListTest {
+
+    @Test
+    void testPut_KeepsPostIdsSortedWhateverTheOrder()
+    {
+        PostingList list = new PostingList("cricket");
+        for(int postId : new int[]{5, 1, 9, 3, 7, 2, 8})
+        {
+            list.put(postId, 1, postId);
+        }
+
+        assertEquals(List.of(1, 2, 3, 5, 7, 8, 9), postIds(list));
+        assertEquals(7, list.contentFrequency(4));
+    }
+
+    @Test
+    void testPut_ExistingPostReplacesFrequencies()
+    {
+        PostingList list = new PostingList("cricket");
+        list.put(4, 1, 2);
+        list.put(4, 3, 0);
+
+        assertEquals(1, list.size());
+        assertEquals(3, list.titleFrequency(0));
+        assertEquals(0, list.contentFrequency(0));
+    }
+
+    @Test
+    void testPut_FrequenciesSaturate()
+    {
+        PostingList list = new PostingList("cricket");
+        list.put(1, 100_000, 70_000);
+
+        assertEquals(0xFFFF, list.titleFrequency(0));
+        assertEquals(0xFFFF, list.contentFrequency(0));
+    }
+
+    @Test
+    void testRemove_ShiftsTheRest()
+    {
+        PostingList list = new PostingList("cricket");
+        for(int postId = 1; postId <= 100; postId++)
+        {
+            list.put(postId, 0, postId);
+        }
+        for(int postId = 1; postId <= 100; postId += 2)
+        {
+            list.remove(postId);
+        }
+        list.remove(1000);
+
+        assertEquals(50, list.size());
+        assertEquals(2, list.postId(0));
+        assertEquals(100, list.postId(49));
+        assertEquals(100, list.contentFrequency(49));
+    }
+
+    private static List<Integer> postIds(PostingList list)
+    {
+        List<Integer> postIds = new ArrayList<>();
+        for(int i = 0; i < list.size(); i++)
+        {
+            postIds.add(list.postId(i));
+        }
+        return postIds;
+    }
+}
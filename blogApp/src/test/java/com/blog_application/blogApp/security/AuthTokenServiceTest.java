@@ -0,0 +1,150 @@
+package com.blog_application.blogApp.security;
+
+import com.blog_application.blogApp.entity.RevokedToken;
+import com.blog_application.blogApp.entity.Role;
+import com.blog_application.blogApp.entity.UsedRefreshToken;
+import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.payloads.JwtAuthResponse;
+import com.blog_application.blogApp.repository.RevokedTokenRepository;
+import com.blog_application.blogApp.repository.UsedRefreshTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class AuthTokenServiceTest {
+
+    private JwtTokenHelper jwtTokenHelper;
+    private RevokedTokenRepository revokedTokenRepository;
+    private UsedRefreshTokenRepository usedRefreshTokenRepository;
+    private AuthTokenService authTokenService;
+    private User user;
+
+    // Stand in for the revoked_tokens and used_refresh_tokens tables, the primary key rejects a second insert
+    private final Set<String> revokedIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> usedIds = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp()
+    {
+        jwtTokenHelper = new JwtTokenHelper();
+        ReflectionTestUtils.setField(jwtTokenHelper, "SECRET", "some_secure_and_long_secret_key_that_is_at_least_32_chars");
+        ReflectionTestUtils.setField(jwtTokenHelper, "EXPIRATION_TIME", 60_000L);
+        ReflectionTestUtils.setField(jwtTokenHelper, "REFRESH_EXPIRATION_TIME", 600_000L);
+        jwtTokenHelper.init();
+
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        when(revokedTokenRepository.existsById(anyString())).thenAnswer(invocation -> revokedIds.contains(invocation.getArgument(0, String.class)));
+        when(revokedTokenRepository.saveAndFlush(any(RevokedToken.class))).thenAnswer(invocation -> {
+            RevokedToken revokedToken = invocation.getArgument(0);
+            if(!revokedIds.add(revokedToken.getTokenId()))
+            {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return revokedToken;
+        });
+        usedRefreshTokenRepository = mock(UsedRefreshTokenRepository.class);
+        when(usedRefreshTokenRepository.existsById(anyString())).thenAnswer(invocation -> usedIds.contains(invocation.getArgument(0, String.class)));
+        when(usedRefreshTokenRepository.saveAndFlush(any(UsedRefreshToken.class))).thenAnswer(invocation -> {
+            UsedRefreshToken usedRefreshToken = invocation.getArgument(0);
+            if(!usedIds.add(usedRefreshToken.getTokenId()))
+            {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return usedRefreshToken;
+        });
+        TokenRevocationList tokenRevocationList = new TokenRevocationList(revokedTokenRepository, 1000, 0.01, new SimpleMeterRegistry());
+
+        user = new User(7, "Shubham", "shubham@gmail.com", "encoded", "I am Java Developer",
+                new ArrayList<>(), new ArrayList<>(), new Role(1, "ROLE_USER"), 2);
+        CustomUserDetailService customUserDetailService = mock(CustomUserDetailService.class);
+        when(customUserDetailService.loadUserByUsername(user.getEmail())).thenReturn(user);
+
+        authTokenService = new AuthTokenService(jwtTokenHelper, customUserDetailService, tokenRevocationList, new UsedRefreshTokenStore(usedRefreshTokenRepository));
+    }
+
+    @Test
+    void testIssue_AccessAndRefreshToken()
+    {
+        JwtAuthResponse response = authTokenService.issue(user);
+
+        Claims access = jwtTokenHelper.getAllClaimsFromToken(response.getToken());
+        Claims refresh = jwtTokenHelper.getAllClaimsFromToken(response.getRefreshToken());
+        assertFalse(jwtTokenHelper.isRefreshToken(access));
+        assertTrue(jwtTokenHelper.isRefreshToken(refresh));
+        assertNotEquals(access.getId(), refresh.getId());
+        assertTrue(refresh.getExpiration().after(access.getExpiration()));
+    }
+
+    @Test
+    void testRefresh_RotatesAndRejectsReuse()
+    {
+        String refreshToken = authTokenService.issue(user).getRefreshToken();
+
+        JwtAuthResponse rotated = authTokenService.refresh(refreshToken);
+
+        assertEquals(user.getEmail(), jwtTokenHelper.getUsernameFromToken(rotated.getToken()));
+        assertNotEquals(refreshToken, rotated.getRefreshToken());
+        assertThrows(BadCredentialsException.class, () -> authTokenService.refresh(refreshToken));
+        assertNotNull(authTokenService.refresh(rotated.getRefreshToken()));
+        // Rotation never touches the list every request is checked against
+        verify(revokedTokenRepository, never()).saveAndFlush(any(RevokedToken.class));
+        assertTrue(revokedIds.isEmpty());
+    }
+
+    @Test
+    void testRefresh_ConcurrentReuseOnlyOneWins()
+    {
+        String refreshToken = authTokenService.issue(user).getRefreshToken();
+        String tokenId = jwtTokenHelper.getAllClaimsFromToken(refreshToken).getId();
+        // The other request inserted the id between our check and our insert
+        when(usedRefreshTokenRepository.existsById(tokenId)).thenReturn(false);
+        usedIds.add(tokenId);
+
+        BadCredentialsException exception = assertThrows(BadCredentialsException.class, () -> authTokenService.refresh(refreshToken));
+        assertEquals("Refresh token was already used", exception.getMessage());
+    }
+
+    @Test
+    void testRefresh_AccessTokenRejected()
+    {
+        String accessToken = authTokenService.issue(user).getToken();
+
+        assertThrows(BadCredentialsException.class, () -> authTokenService.refresh(accessToken));
+        assertThrows(BadCredentialsException.class, () -> authTokenService.refresh("not-a-jwt"));
+        verify(usedRefreshTokenRepository, never()).saveAndFlush(any(UsedRefreshToken.class));
+    }
+
+    @Test
+    void testRefresh_UserChangedSinceIssue()
+    {
+        String refreshToken = authTokenService.issue(user).getRefreshToken();
+        user.setTokenVersion(3);
+
+        assertThrows(BadCredentialsException.class, () -> authTokenService.refresh(refreshToken));
+    }
+
+    @Test
+    void testLogout_RevokesBothTokens()
+    {
+        JwtAuthResponse response = authTokenService.issue(user);
+
+        authTokenService.logout(response.getRefreshToken(), response.getToken());
+
+        assertTrue(revokedIds.contains(jwtTokenHelper.getAllClaimsFromToken(response.getToken()).getId()));
+        assertTrue(usedIds.contains(jwtTokenHelper.getAllClaimsFromToken(response.getRefreshToken()).getId()));
+        assertThrows(BadCredentialsException.class, () -> authTokenService.refresh(response.getRefreshToken()));
+    }
+}
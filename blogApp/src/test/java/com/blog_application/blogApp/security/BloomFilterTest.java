@@ -0,0 +1,58 @@
+package com.blog_application.blogApp.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    @Test
+    void testSizing()
+    {
+        BloomFilter bloomFilter = new BloomFilter(100_000, 0.01);
+
+        // About 9.6 bits and 7 hashes per entry at 1%
+        assertEquals(7, bloomFilter.hashCount());
+        assertTrue(bloomFilter.bitCount() >= 958_506 && bloomFilter.bitCount() < 958_506 + 64);
+    }
+
+    @Test
+    void testMightContain_NoFalseNegatives()
+    {
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        String[] ids = new String[10_000];
+        for(int i = 0; i < ids.length; i++)
+        {
+            ids[i] = UUID.randomUUID().toString();
+            bloomFilter.put(ids[i]);
+        }
+
+        for(String id : ids)
+        {
+            assertTrue(bloomFilter.mightContain(id));
+        }
+    }
+
+    @Test
+    void testMightContain_FalsePositiveRateNearTarget()
+    {
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        for(int i = 0; i < 10_000; i++)
+        {
+            bloomFilter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for(int i = 0; i < 100_000; i++)
+        {
+            if(bloomFilter.mightContain(UUID.randomUUID().toString()))
+            {
+                falsePositives++;
+            }
+        }
+        // 1000 expected, the bound leaves room for chance
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,88 @@
+package com.blog_application.blogApp.security;
+
+import com.blog_application.blogApp.entity.Role;
+import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.exceptionHandler.UnAuthorizedException;
+import com.blog_application.blogApp.exceptionHandler.UserNotFoundException;
+import com.blog_application.blogApp.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class CurrentUserProviderTest {
+
+    private UserRepository userRepository;
+    private CurrentUserProvider currentUserProvider;
+    private User user;
+
+    @BeforeEach
+    void setUp()
+    {
+        userRepository = mock(UserRepository.class);
+        currentUserProvider = new CurrentUserProvider(userRepository);
+        user = new User(7, "Shubham", "shubham@gmail.com", "encoded", "I am Java Developer",
+                new ArrayList<>(), new ArrayList<>(), new Role(1, "ROLE_USER"), 0);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testGet_UserPrincipal_NoLookup()
+    {
+        authenticate(user);
+
+        CurrentUser currentUser = currentUserProvider.get();
+
+        assertEquals(new CurrentUser(7, "shubham@gmail.com", "ROLE_USER"), currentUser);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testGet_OtherPrincipal_LookedUpByEmail()
+    {
+        authenticate(new org.springframework.security.core.userdetails.User(user.getEmail(), "encoded", Collections.emptyList()));
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+        assertEquals(7, currentUserProvider.get().id());
+
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        assertThrows(UserNotFoundException.class, () -> currentUserProvider.get());
+    }
+
+    @Test
+    void testGet_Unauthenticated()
+    {
+        assertThrows(UnAuthorizedException.class, () -> currentUserProvider.get());
+    }
+
+    @Test
+    void testCanModify()
+    {
+        CurrentUser owner = new CurrentUser(7, "shubham@gmail.com", "ROLE_USER");
+        CurrentUser admin = new CurrentUser(2, "rushi@gmail.com", CurrentUser.ADMIN_ROLE);
+
+        assertTrue(owner.canModify(7));
+        assertFalse(owner.canModify(8));
+        assertTrue(admin.canModify(8));
+    }
+
+    private void authenticate(org.springframework.security.core.userdetails.UserDetails principal)
+    {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,180 @@
+package com.blog_application.blogApp.security;
+
+import com.blog_application.blogApp.cache.PrincipalCache;
+import com.blog_application.blogApp.cache.VerifiedTokenCache;
+import com.blog_application.blogApp.entity.Role;
+import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.repository.RevokedTokenRepository;
+import com.blog_application.blogApp.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class JwtAuthenticationFilterTest {
+
+    private JwtTokenHelper jwtTokenHelper;
+    private CustomUserDetailService customUserDetailService;
+    private TokenVersionRegistry tokenVersionRegistry;
+    private TokenRevocationList tokenRevocationList;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp()
+    {
+        jwtTokenHelper = new JwtTokenHelper();
+        ReflectionTestUtils.setField(jwtTokenHelper, "SECRET", "some_secure_and_long_secret_key_that_is_at_least_32_chars");
+        ReflectionTestUtils.setField(jwtTokenHelper, "EXPIRATION_TIME", 60_000L);
+        ReflectionTestUtils.setField(jwtTokenHelper, "REFRESH_EXPIRATION_TIME", 600_000L);
+        ReflectionTestUtils.setField(jwtTokenHelper, "selfContained", true);
+        jwtTokenHelper.init();
+        jwtTokenHelper = spy(jwtTokenHelper);
+
+        customUserDetailService = mock(CustomUserDetailService.class);
+        tokenVersionRegistry = new TokenVersionRegistry(mock(UserRepository.class), mock(PlatformTransactionManager.class));
+        PrincipalCache principalCache = new PrincipalCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        // Only ids the Bloom filter already holds reach the table, those are the revoked ones here
+        RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+        when(revokedTokenRepository.existsById(anyString())).thenReturn(true);
+        tokenRevocationList = new TokenRevocationList(revokedTokenRepository, 1000, 0.01, new SimpleMeterRegistry());
+        filter = new JwtAuthenticationFilter(jwtTokenHelper, customUserDetailService, principalCache, tokenVersionRegistry, verifiedTokenCache, tokenRevocationList);
+
+        user = new User(7, "Shubham", "shubham@gmail.com", "encoded", "I am Java Developer",
+                new ArrayList<>(), new ArrayList<>(), new Role(1, "ROLE_USER"), 2);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testSelfContainedToken_AuthenticatesFromClaims()
+    {
+        Authentication authentication = authenticate(jwtTokenHelper.generateToken(user));
+
+        assertNotNull(authentication);
+        User principal = (User) authentication.getPrincipal();
+        assertEquals(7, principal.getId());
+        assertEquals("shubham@gmail.com", principal.getUsername());
+        assertEquals("ROLE_USER", principal.getRole().getName());
+        assertEquals("ROLE_USER", authentication.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(customUserDetailService);
+    }
+
+    @Test
+    void testSelfContainedToken_RevokedByNewerVersion()
+    {
+        String token = jwtTokenHelper.generateToken(user);
+        tokenVersionRegistry.update(7, 3);
+
+        assertNull(authenticate(token));
+        verifyNoInteractions(customUserDetailService);
+    }
+
+    @Test
+    void testSelfContainedToken_RevokedForDeletedUser()
+    {
+        String token = jwtTokenHelper.generateToken(user);
+        tokenVersionRegistry.revokeAll(7);
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    void testSubjectOnlyToken_LoadsPrincipalOnce()
+    {
+        when(customUserDetailService.loadUserByUsername(anyString())).thenReturn(user);
+        String token = jwtTokenHelper.generateToken(user.getEmail());
+
+        assertNotNull(authenticate(token));
+        SecurityContextHolder.clearContext();
+        assertNotNull(authenticate(token));
+
+        verify(customUserDetailService, times(1)).loadUserByUsername(user.getEmail());
+    }
+
+    @Test
+    void testRepeatedToken_VerifiedOnce()
+    {
+        String token = jwtTokenHelper.generateToken(user);
+
+        assertNotNull(authenticate(token));
+        SecurityContextHolder.clearContext();
+        assertNotNull(authenticate(token));
+
+        verify(jwtTokenHelper, times(1)).getAllClaimsFromToken(token);
+    }
+
+    @Test
+    void testRevokedToken_NotAuthenticated()
+    {
+        String token = jwtTokenHelper.generateToken(user);
+        assertNotNull(authenticate(token));
+        SecurityContextHolder.clearContext();
+
+        // Still in the verified cache, the revocation check runs after it
+        tokenRevocationList.revoke(jwtTokenHelper.getAllClaimsFromToken(token).getId(), new Date());
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    void testRefreshToken_NotAcceptedAsAccessToken()
+    {
+        assertNull(authenticate(jwtTokenHelper.generateRefreshToken(user)));
+        verifyNoInteractions(customUserDetailService);
+    }
+
+    @Test
+    void testInvalidToken_NotAuthenticated()
+    {
+        String token = jwtTokenHelper.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertNull(authenticate(tampered));
+        assertNull(authenticate("not-a-jwt"));
+    }
+
+    @Test
+    void testSelfContainedDisabled_IssuesAndTrustsSubjectOnly()
+    {
+        String selfContainedToken = jwtTokenHelper.generateToken(user);
+        ReflectionTestUtils.setField(jwtTokenHelper, "selfContained", false);
+
+        String token = jwtTokenHelper.generateToken(user);
+
+        assertNull(jwtTokenHelper.getClaimFromToken(token, claims -> claims.get(JwtTokenHelper.USER_ID_CLAIM)));
+        assertNull(jwtTokenHelper.getUserFromToken(selfContainedToken));
+    }
+
+    private Authentication authenticate(String token)
+    {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
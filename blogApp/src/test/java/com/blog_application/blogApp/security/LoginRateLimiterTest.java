@@ -0,0 +1,128 @@
+package com.blog_application.blogApp.security;
+
+import com.blog_application.blogApp.exceptionHandler.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoginRateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+    private LoginRateLimiter loginRateLimiter;
+
+    @BeforeEach
+    void setUp()
+    {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        // 10 per IP, 3 per email, each refilling one token per second
+        loginRateLimiter = new LoginRateLimiter(10, 60, 3, 60, 1024, 2, meterRegistry, clock::get);
+    }
+
+    @Test
+    void testCheckLogin_EmailLimitedAcrossAddresses()
+    {
+        for(int i = 0; i < 3; i++)
+        {
+            loginRateLimiter.checkLogin("10.0.0." + i, "victim@gmail.com");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> loginRateLimiter.checkLogin("10.0.0.9", "Victim@Gmail.com "));
+        loginRateLimiter.checkLogin("10.0.0.9", "other@gmail.com");
+        assertEquals(1.0, meterRegistry.get("login.rate-limit.rejected").tag("key", "email").counter().count());
+    }
+
+    @Test
+    void testCheckLogin_IpLimitedAcrossEmails()
+    {
+        for(int i = 0; i < 10; i++)
+        {
+            loginRateLimiter.checkLogin("10.0.0.1", "user" + i + "@gmail.com");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> loginRateLimiter.checkLogin("10.0.0.1", "fresh@gmail.com"));
+        assertEquals(1.0, meterRegistry.get("login.rate-limit.rejected").tag("key", "ip").counter().count());
+        // The IP rejection happened before the email bucket was touched
+        for(int i = 0; i < 3; i++)
+        {
+            loginRateLimiter.checkLogin("10.0.0.2", "fresh@gmail.com");
+        }
+    }
+
+    @Test
+    void testCheckLogin_RefillsOverTime()
+    {
+        for(int i = 0; i < 3; i++)
+        {
+            loginRateLimiter.checkLogin("10.0.0.1", "shubham@gmail.com");
+        }
+        assertThrows(TooManyRequestsException.class, () -> loginRateLimiter.checkLogin("10.0.0.1", "shubham@gmail.com"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+        TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class, () -> loginRateLimiter.checkLogin("10.0.0.1", "shubham@gmail.com"));
+        // The next token is a second after the bucket ran dry
+        assertEquals(Duration.ofMillis(600), rejected.getRetryAfter());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+
+        loginRateLimiter.checkLogin("10.0.0.1", "shubham@gmail.com");
+        assertThrows(TooManyRequestsException.class, () -> loginRateLimiter.checkLogin("10.0.0.1", "shubham@gmail.com"));
+    }
+
+    @Test
+    void testTryAcquire_ConcurrentAttemptsNeverExceedCapacity() throws Exception
+    {
+        TokenBucketSketch sketch = new TokenBucketSketch(1024, 2, 50, 60, clock::get);
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8))
+        {
+            for(int thread = 0; thread < 8; thread++)
+            {
+                executor.submit(() -> {
+                    start.await();
+                    for(int i = 0; i < 100; i++)
+                    {
+                        if(sketch.tryAcquire("shared") == 0)
+                        {
+                            acquired.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertEquals(50, acquired.get());
+    }
+
+    @Test
+    void testTryAcquire_CollisionsOnlyMakeKeysStricter()
+    {
+        // One bucket per row: every key shares it, so together they get exactly one key's capacity
+        TokenBucketSketch sketch = new TokenBucketSketch(1, 2, 5, 60, clock::get);
+        int acquired = 0;
+        for(int i = 0; i < 20; i++)
+        {
+            if(sketch.tryAcquire("key" + i) == 0)
+            {
+                acquired++;
+            }
+        }
+
+        assertEquals(5, acquired);
+    }
+}
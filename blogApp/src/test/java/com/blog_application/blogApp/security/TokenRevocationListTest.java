@@ -0,0 +1,63 @@
+package com.blog_application.blogApp.security;
+
+import com.blog_application.blogApp.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class TokenRevocationListTest {
+
+    private RevokedTokenRepository revokedTokenRepository;
+    private TokenRevocationList tokenRevocationList;
+
+    @BeforeEach
+    void setUp()
+    {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        when(revokedTokenRepository.existsById(anyString())).thenReturn(true);
+        tokenRevocationList = new TokenRevocationList(revokedTokenRepository, 1000, 0.01, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testIsRevoked_MissNeverQueriesTable()
+    {
+        assertFalse(tokenRevocationList.isRevoked(UUID.randomUUID().toString()));
+        assertFalse(tokenRevocationList.isRevoked(null));
+
+        verify(revokedTokenRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    void testRotate_KeepsRevocationForOneMoreLifetime()
+    {
+        String tokenId = UUID.randomUUID().toString();
+        tokenRevocationList.revoke(tokenId, new Date());
+
+        assertTrue(tokenRevocationList.isRevoked(tokenId));
+        tokenRevocationList.rotate();
+        assertTrue(tokenRevocationList.isRevoked(tokenId));
+
+        // Two lifetimes later the token expired, its filter is gone and the check is a miss again
+        tokenRevocationList.rotate();
+        clearInvocations(revokedTokenRepository);
+        assertFalse(tokenRevocationList.isRevoked(tokenId));
+        verify(revokedTokenRepository, never()).existsById(anyString());
+        verify(revokedTokenRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testRotate_PurgesExpiredRows()
+    {
+        tokenRevocationList.rotate();
+
+        verify(revokedTokenRepository, times(1)).deleteExpired(any(Date.class));
+    }
+}
@@ -0,0 +1,52 @@
+package com.blog_application.blogApp.security;
+
+import com.blog_application.blogApp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TokenVersionRegistryTest {
+
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @BeforeEach
+    void setUp()
+    {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByTokenVersionGreaterThan(0)).thenReturn(List.of());
+        // User 2 was deleted before the restart
+        when(userRepository.streamIds()).thenReturn(Stream.of(1, 3, 4));
+        tokenVersionRegistry = new TokenVersionRegistry(userRepository, mock(PlatformTransactionManager.class));
+        tokenVersionRegistry.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void testIsCurrent_UserDeletedBeforeRestartIsRejected()
+    {
+        assertTrue(tokenVersionRegistry.isCurrent(1, 0));
+        assertFalse(tokenVersionRegistry.isCurrent(2, 0));
+        assertTrue(tokenVersionRegistry.isCurrent(4, 0));
+    }
+
+    @Test
+    void testIsCurrent_UserCreatedAfterStartupIsAccepted()
+    {
+        assertTrue(tokenVersionRegistry.isCurrent(5, 0));
+    }
+
+    @Test
+    void testRevokeAll_RejectsEveryVersion()
+    {
+        tokenVersionRegistry.revokeAll(3);
+        tokenVersionRegistry.revokeAll(5);
+
+        assertFalse(tokenVersionRegistry.isCurrent(3, 1000));
+        assertFalse(tokenVersionRegistry.isCurrent(5, 0));
+    }
+}
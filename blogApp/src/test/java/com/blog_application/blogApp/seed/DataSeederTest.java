@@ -0,0 +1,66 @@
+package com.blog_application.blogApp.seed;
+
+import com.blog_application.blogApp.entity.Post;
+import com.blog_application.blogApp.repository.CategoryRepository;
+import com.blog_application.blogApp.repository.PostRepository;
+import com.blog_application.blogApp.repository.UserRepository;
+import com.blog_application.blogApp.search.PostSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"seed.users=20", "seed.categories=4", "seed.posts=250", "seed.chunk-size=40", "seed.batch-size=16", "seed.threads=3"})
+@AutoConfigureTestDatabase
+@ActiveProfiles("seed")
+public class DataSeederTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    PostSearchIndex postSearchIndex;
+
+    @Test
+    void testSeedFillsEveryTable()
+    {
+        assertEquals(20, userRepository.count());
+        assertEquals(4, categoryRepository.count());
+        assertEquals(250, postRepository.count());
+        assertTrue(jdbcTemplate.queryForObject("select count(*) from comments", Long.class) > 250);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from comments c left join posts p on p.post_id = c.post_id where p.post_id is null", Long.class));
+        assertEquals(250, postSearchIndex.size());
+    }
+
+    @Test
+    void testPostsCreatedAfterTheSeedGetNewIds()
+    {
+        Integer maxSeededId = jdbcTemplate.queryForObject("select max(post_id) from posts", Integer.class);
+
+        Post post = new Post();
+        post.setTitle("After the seed");
+        post.setContent("Created through JPA");
+        post.setAddedDate(new Date());
+        post.setUser(userRepository.findAll().get(0));
+        post.setCategory(categoryRepository.findAll().get(0));
+        Post saved = postRepository.save(post);
+
+        assertTrue(saved.getPostId() > maxSeededId);
+        postRepository.delete(saved);
+    }
+}
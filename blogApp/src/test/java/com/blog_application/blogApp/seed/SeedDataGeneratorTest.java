@@ -0,0 +1,75 @@
+package com.blog_application.blogApp.seed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeedDataGeneratorTest {
+
+    @Test
+    void testSameSeedGivesSameData()
+    {
+        assertEquals(sample(SeedDataGenerator.forChunk(42, 3)), sample(SeedDataGenerator.forChunk(42, 3)));
+        assertNotEquals(sample(SeedDataGenerator.forChunk(42, 3)), sample(SeedDataGenerator.forChunk(42, 4)));
+    }
+
+    @Test
+    void testTextFitsTheColumns()
+    {
+        SeedDataGenerator generator = new SeedDataGenerator(7);
+        for(int i = 0; i < 2000; i++)
+        {
+            String content = generator.content();
+            String comment = generator.comment();
+            assertTrue(content.length() > 0 && content.length() <= 10000);
+            assertTrue(comment.length() > 0 && comment.length() <= 1000);
+            assertTrue(generator.title().length() <= 255);
+            assertTrue(generator.shortText().length() <= 255);
+        }
+    }
+
+    @Test
+    void testDistributionsAreSkewed()
+    {
+        SeedDataGenerator generator = new SeedDataGenerator(7);
+        int topTenth = 0;
+        long comments = 0;
+        int withoutComments = 0;
+        for(int i = 0; i < 10000; i++)
+        {
+            int index = generator.skewedIndex(100, 3);
+            assertTrue(index >= 0 && index < 100);
+            if(index < 10)
+            {
+                topTenth++;
+            }
+            int count = generator.commentCount(5);
+            comments += count;
+            if(count == 0)
+            {
+                withoutComments++;
+            }
+        }
+
+        // With skew 3 the first tenth of the range gets about 46% of the picks
+        assertTrue(topTenth > 4000 && topTenth < 5200);
+        // The viral tail pulls the mean above the configured one
+        assertTrue(comments / 10000.0 > 5 && comments / 10000.0 < 8);
+        assertTrue(withoutComments > 1000);
+    }
+
+    private static List<String> sample(SeedDataGenerator generator)
+    {
+        List<String> values = new ArrayList<>();
+        for(int i = 0; i < 20; i++)
+        {
+            values.add(generator.title());
+            values.add(generator.content());
+            values.add(String.valueOf(generator.commentCount(5)));
+        }
+        return values;
+    }
+}
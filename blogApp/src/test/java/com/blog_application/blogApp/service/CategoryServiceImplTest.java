@@ -1,16 +1,20 @@
 package com.blog_application.blogApp.service;
 
+import com.blog_application.blogApp.cache.PostCache;
+import com.blog_application.blogApp.cache.PostListingCache;
 import com.blog_application.blogApp.entity.Category;
 import com.blog_application.blogApp.exceptionHandler.CategoryNotFoundException;
+import com.blog_application.blogApp.mapper.CategoryMapper;
 import com.blog_application.blogApp.payloads.CategoryDto;
 import com.blog_application.blogApp.repository.CategoryRepository;
+import com.blog_application.blogApp.repository.PostRepository;
+import com.blog_application.blogApp.search.PostIndexes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import java.util.Arrays;
 import java.util.List;
@@ -27,7 +31,19 @@ public class CategoryServiceImplTest {
     CategoryRepository categoryRepository;
 
     @Mock
-    ModelMapper modelMapper;
+    CategoryMapper categoryMapper;
+
+    @Mock
+    PostCache postCache;
+
+    @Mock
+    PostListingCache postListingCache;
+
+    @Mock
+    PostRepository postRepository;
+
+    @Mock
+    PostIndexes postIndexes;
 
     @InjectMocks
     CategoryServiceImpl categoryServiceImpl;
@@ -45,11 +61,11 @@ public class CategoryServiceImplTest {
     @Test
     void testCreateCategory_Success()
     {
-        when(modelMapper.map(categoryDto, Category.class)).thenReturn(category);
+        when(categoryMapper.toEntity(categoryDto)).thenReturn(category);
 
         when(categoryRepository.save(category)).thenReturn(category);
 
-        when(modelMapper.map(category, CategoryDto.class)).thenReturn(categoryDto);
+        when(categoryMapper.toDto(category)).thenReturn(categoryDto);
 
         CategoryDto result = categoryServiceImpl.createCategory(categoryDto);
 
@@ -57,9 +73,9 @@ public class CategoryServiceImplTest {
         assertEquals(categoryDto.getCategoryTitle(), result.getCategoryTitle());
         assertEquals(categoryDto.getCategoryDescription(), result.getCategoryDescription());
 
-        verify(modelMapper, times(1)).map(categoryDto,Category.class);
+        verify(categoryMapper, times(1)).toEntity(categoryDto);
         verify(categoryRepository,times(1)).save(category);
-        verify(modelMapper, times(1)).map(category, CategoryDto.class);
+        verify(categoryMapper, times(1)).toDto(category);
     }
 
     @Test
@@ -69,10 +85,10 @@ public class CategoryServiceImplTest {
         CategoryDto updatedCategoryDto = new CategoryDto(1,"Updated AI/ML","Updated description");
 
         when(categoryRepository.findById(category.getId())).thenReturn(Optional.of(category));
-        when(modelMapper.map(updatedCategoryDto, Category.class)).thenReturn(updateCategory);
+        when(categoryMapper.toEntity(updatedCategoryDto)).thenReturn(updateCategory);
 
         when(categoryRepository.save(updateCategory)).thenReturn(updateCategory);
-        when(modelMapper.map(updateCategory, CategoryDto.class)).thenReturn(updatedCategoryDto);
+        when(categoryMapper.toDto(updateCategory)).thenReturn(updatedCategoryDto);
 
         CategoryDto result = categoryServiceImpl.updateCategory(updatedCategoryDto);
 
@@ -82,6 +98,8 @@ public class CategoryServiceImplTest {
 
         verify(categoryRepository,times(1)).findById(category.getId());
         verify(categoryRepository, times(1)).save(updateCategory);
+        verify(postCache, times(1)).evictAll();
+        verify(postListingCache, times(1)).invalidateAll();
 
     }
 
@@ -94,7 +112,7 @@ public class CategoryServiceImplTest {
         nonExistentCategory.setId(nonExistentCategoryDto.getId());
 
         when(categoryRepository.findById(anyInt())).thenReturn(Optional.empty());
-        when(modelMapper.map(nonExistentCategoryDto, Category.class)).thenReturn(nonExistentCategory);
+        when(categoryMapper.toEntity(nonExistentCategoryDto)).thenReturn(nonExistentCategory);
 
         assertThrows(CategoryNotFoundException.class, ()-> categoryServiceImpl.updateCategory(nonExistentCategoryDto));
 
@@ -105,7 +123,7 @@ public class CategoryServiceImplTest {
     void testGetCategoryById_Success()
     {
         when(categoryRepository.findById(category.getId())).thenReturn(Optional.of(category));
-        when(modelMapper.map(category, CategoryDto.class)).thenReturn(categoryDto);
+        when(categoryMapper.toDto(category)).thenReturn(categoryDto);
 
         CategoryDto result = categoryServiceImpl.getCategoryById(category.getId());
 
@@ -114,7 +132,7 @@ public class CategoryServiceImplTest {
         assertEquals(categoryDto.getCategoryTitle(), result.getCategoryTitle());
 
         verify(categoryRepository, times(1)).findById(category.getId());
-        verify(modelMapper, times(1)).map(category, CategoryDto.class);
+        verify(categoryMapper, times(1)).toDto(category);
     }
 
     @Test
@@ -133,7 +151,7 @@ public class CategoryServiceImplTest {
 
         when(categoryRepository.findAll()).thenReturn(categoryList);
 
-        when(modelMapper.map(any(Category.class), eq(CategoryDto.class))).thenReturn(categoryDto, new CategoryDto(2,"Another Category","Another category description"));
+        when(categoryMapper.toDto(any(Category.class))).thenReturn(categoryDto, new CategoryDto(2,"Another Category","Another category description"));
 
         List<CategoryDto> result = categoryServiceImpl.getAllCategories();
 
@@ -143,7 +161,7 @@ public class CategoryServiceImplTest {
         assertEquals(categoryDtoList.get(1).getCategoryTitle(), result.get(1).getCategoryTitle());
 
         verify(categoryRepository, times(1)).findAll();
-        verify(modelMapper, times(2)).map(any(Category.class), eq(CategoryDto.class));
+        verify(categoryMapper, times(2)).toDto(any(Category.class));
     }
 
     @Test
@@ -163,11 +181,15 @@ public class CategoryServiceImplTest {
     void testDeleteCategory_Success()
     {
         when(categoryRepository.findById(category.getId())).thenReturn(Optional.of(category));
+        when(postRepository.findPostIdsByCategory(category)).thenReturn(List.of(4, 7));
         doNothing().when(categoryRepository).delete(category);
 
         assertDoesNotThrow(()-> categoryServiceImpl.deleteCategory(category.getId()));
 
         verify(categoryRepository,  times(1)).delete(category);
+        verify(postIndexes, times(1)).evict(List.of(4, 7));
+        verify(postCache, times(1)).evictAll();
+        verify(postListingCache, times(1)).invalidateAll();
     }
 
     @Test
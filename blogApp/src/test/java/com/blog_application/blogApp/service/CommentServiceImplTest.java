@@ -1,5 +1,6 @@
 package com.blog_application.blogApp.service;
 
+import com.blog_application.blogApp.cache.PostCache;
 import com.blog_application.blogApp.entity.Comment;
 import com.blog_application.blogApp.entity.Post;
 import com.blog_application.blogApp.entity.Role;
@@ -8,22 +9,20 @@ import com.blog_application.blogApp.exceptionHandler.CommentNotFoundException;
 import com.blog_application.blogApp.exceptionHandler.PostNotFoundException;
 import com.blog_application.blogApp.exceptionHandler.UnAuthorizedException;
 import com.blog_application.blogApp.exceptionHandler.UserNotFoundException;
+import com.blog_application.blogApp.mapper.CommentMapper;
 import com.blog_application.blogApp.payloads.CommentDto;
 import com.blog_application.blogApp.repository.CommentRepository;
 import com.blog_application.blogApp.repository.PostRepository;
 import com.blog_application.blogApp.repository.UserRepository;
+import com.blog_application.blogApp.search.PostTitleTrie;
+import com.blog_application.blogApp.security.CurrentUser;
+import com.blog_application.blogApp.security.CurrentUserProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Optional;
 
@@ -43,7 +42,16 @@ public class CommentServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private CommentMapper commentMapper;
+
+    @Mock
+    private PostCache postCache;
+
+    @Mock
+    private PostTitleTrie postTitleTrie;
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
 
     @InjectMocks
     private CommentServiceImpl commentServiceImpl;
@@ -93,11 +101,11 @@ public class CommentServiceImplTest {
         when(postRepository.findById(post.getPostId())).thenReturn(Optional.of(post));
         when(userRepository.findById(ownerUser.getId())).thenReturn(Optional.of(ownerUser));
 
-        when(modelMapper.map(commentDto, Comment.class)).thenReturn(comment);
+        when(commentMapper.toEntity(commentDto)).thenReturn(comment);
 
         when(commentRepository.save(comment)).thenReturn(comment);
 
-        when(modelMapper.map(comment, CommentDto.class)).thenReturn(commentDto);
+        when(commentMapper.toDto(comment)).thenReturn(commentDto);
 
         CommentDto result = commentServiceImpl.createComment(commentDto, ownerUser.getId(), post.getPostId());
 
@@ -107,6 +115,8 @@ public class CommentServiceImplTest {
         verify(postRepository, times(1)).findById(post.getPostId());
         verify(userRepository, times(1)).findById(ownerUser.getId());
         verify(commentRepository, times(1)).save(comment);
+        verify(postCache, times(1)).evict(post.getPostId());
+        verify(postTitleTrie, times(1)).addPopularity(post.getPostId(), 1);
     }
 
     @Test
@@ -137,16 +147,13 @@ public class CommentServiceImplTest {
     {
         when(commentRepository.findById(comment.getCommentId())).thenReturn(Optional.of(comment));
 
-        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
-        Authentication authentication = Mockito.mock(Authentication.class);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-
-        when(authentication.getPrincipal()).thenReturn(ownerUser);
+        actingAs(ownerUser);
 
         commentServiceImpl.deleteComment(comment.getCommentId());
 
         verify(commentRepository, times(1)).delete(comment);
+        verify(postCache, times(1)).evict(post.getPostId());
+        verify(postTitleTrie, times(1)).addPopularity(post.getPostId(), -1);
     }
 
     @Test
@@ -154,16 +161,13 @@ public class CommentServiceImplTest {
     {
         when(commentRepository.findById(comment.getCommentId())).thenReturn(Optional.of(comment));
 
-        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
-        Authentication authentication = Mockito.mock(Authentication.class);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-
-        when(authentication.getPrincipal()).thenReturn(adminUser);
+        actingAs(adminUser);
 
         commentServiceImpl.deleteComment(comment.getCommentId());
 
         verify(commentRepository, times(1)).delete(comment);
+        verify(postCache, times(1)).evict(post.getPostId());
+        verify(postTitleTrie, times(1)).addPopularity(post.getPostId(), -1);
     }
 
     @Test
@@ -181,15 +185,16 @@ public class CommentServiceImplTest {
     {
         when(commentRepository.findById(comment.getCommentId())).thenReturn(Optional.of(comment));
 
-        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
-        Authentication authentication = Mockito.mock(Authentication.class);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-
-        when(authentication.getPrincipal()).thenReturn(otherUser);
+        actingAs(otherUser);
 
         assertThrows(UnAuthorizedException.class, () -> commentServiceImpl.deleteComment(comment.getCommentId()));
 
         verify(commentRepository, never()).delete(any(Comment.class));
+        verify(postCache, never()).evict(anyInt());
+    }
+
+    private void actingAs(User user)
+    {
+        when(currentUserProvider.get()).thenReturn(new CurrentUser(user.getId(), user.getEmail(), user.getRole().getName()));
     }
 }
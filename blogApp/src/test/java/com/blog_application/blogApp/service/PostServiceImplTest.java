@@ -1,36 +1,67 @@
 package com.blog_application.blogApp.service;
 
+import com.blog_application.blogApp.cache.PostCache;
+import com.blog_application.blogApp.cache.PostListingCache;
+import com.blog_application.blogApp.config.AppConstants;
 import com.blog_application.blogApp.entity.Category;
 import com.blog_application.blogApp.entity.Post;
 import com.blog_application.blogApp.entity.Role;
 import com.blog_application.blogApp.entity.User;
 import com.blog_application.blogApp.exceptionHandler.CategoryNotFoundException;
+import com.blog_application.blogApp.exceptionHandler.InvalidCursorException;
 import com.blog_application.blogApp.exceptionHandler.PostNotFoundException;
 import com.blog_application.blogApp.exceptionHandler.UnAuthorizedException;
 import com.blog_application.blogApp.exceptionHandler.UserNotFoundException;
+import com.blog_application.blogApp.mapper.PostMapper;
+import com.blog_application.blogApp.payloads.BulkPostResponse;
+import com.blog_application.blogApp.payloads.CategoryDto;
 import com.blog_application.blogApp.payloads.PostDto;
+import com.blog_application.blogApp.payloads.PostExportDto;
 import com.blog_application.blogApp.payloads.PostResponse;
+import com.blog_application.blogApp.payloads.PostSuggestionDto;
+import com.blog_application.blogApp.payloads.PostSummaryDto;
+import com.blog_application.blogApp.payloads.UserDto;
 import com.blog_application.blogApp.repository.CategoryRepository;
 import com.blog_application.blogApp.repository.PostRepository;
 import com.blog_application.blogApp.repository.UserRepository;
+import com.blog_application.blogApp.search.PostIndexes;
+import com.blog_application.blogApp.search.PostSearchIndex;
+import com.blog_application.blogApp.search.PostTitleTrie;
+import com.blog_application.blogApp.search.ScoredPost;
+import com.blog_application.blogApp.search.SearchHits;
+import com.blog_application.blogApp.security.CurrentUser;
+import com.blog_application.blogApp.security.CurrentUserProvider;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -42,7 +73,7 @@ public class PostServiceImplTest {
     PostRepository postRepository;
 
     @Mock
-    ModelMapper modelMapper;
+    PostMapper postMapper;
 
     @Mock
     UserRepository userRepository;
@@ -50,6 +81,27 @@ public class PostServiceImplTest {
     @Mock
     CategoryRepository categoryRepository;
 
+    @Mock
+    PostCache postCache;
+
+    @Mock
+    PostListingCache postListingCache;
+
+    @Mock
+    PostSearchIndex postSearchIndex;
+
+    @Mock
+    PostTitleTrie postTitleTrie;
+
+    @Mock
+    PostIndexes postIndexes;
+
+    @Mock
+    CurrentUserProvider currentUserProvider;
+
+    @Spy
+    Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     PostServiceImpl postServiceImpl;
 
@@ -61,6 +113,7 @@ public class PostServiceImplTest {
     private PostDto postDto;
     private List<Post> postList;
     private List<PostDto> postDtoList;
+    private List<PostSummaryDto> summaryList;
 
     @BeforeEach
     void setUp()
@@ -110,6 +163,10 @@ public class PostServiceImplTest {
         postDto2.setTitle("Post Two DTO Title");
         postDto2.setContent("Content of post two DTO");
         postDtoList = Arrays.asList(postDto, postDto2);
+
+        summaryList = Arrays.asList(
+                new PostSummaryDto(10, post.getTitle(), "Indian cricket team is world best", "default-image.jpg", new Date(), "shubham", "Cricket"),
+                new PostSummaryDto(11, post2.getTitle(), "Content of post two", "default-image.jpg", new Date(), "shubham", "Cricket"));
     }
 
     @Test
@@ -120,9 +177,9 @@ public class PostServiceImplTest {
 
         when(userRepository.findById(anyInt())).thenReturn(Optional.of(ownerUser));
         when(categoryRepository.findById(anyInt())).thenReturn(Optional.of(category));
-        when(modelMapper.map(any(PostDto.class),eq(Post.class))).thenReturn(post);
+        when(postMapper.toEntity(any(PostDto.class))).thenReturn(post);
         when(postRepository.save(any(Post.class))).thenReturn(post);
-        when(modelMapper.map(any(Post.class),eq(PostDto.class))).thenReturn(newPostDto);
+        when(postMapper.toDto(any(Post.class))).thenReturn(newPostDto);
 
         PostDto createPost = postServiceImpl.createPost(newPostDto,1,101);
 
@@ -131,6 +188,9 @@ public class PostServiceImplTest {
 
         verify(userRepository,times(1)).findById(1);
         verify(categoryRepository, times(1)).findById(101);
+        verify(postListingCache, times(1)).invalidatePost(1, 101);
+        verify(postSearchIndex, times(1)).index(post.getPostId(), post.getTitle(), post.getContent());
+        verify(postTitleTrie, times(1)).index(post.getPostId(), post.getTitle(), 0);
         verify(postRepository, times(1)).save(any(Post.class));
     }
 
@@ -162,19 +222,99 @@ public class PostServiceImplTest {
     @Test
     void updatePost_Success_AsOwner()
     {
-        mockSecurityContext(ownerUser.getEmail());
-        when(modelMapper.map(any(PostDto.class), eq(Post.class))).thenReturn(post);
+        actingAs(ownerUser);
+        when(postMapper.toEntity(any(PostDto.class))).thenReturn(post);
 
         when(postRepository.findById(anyInt())).thenReturn(Optional.of(post));
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(ownerUser));
         when(postRepository.save(any(Post.class))).thenReturn(post);
 
-        when(modelMapper.map(any(Post.class), eq(PostDto.class))).thenReturn(postDto);
+        when(postMapper.toDto(any(Post.class))).thenReturn(postDto);
 
         PostDto updatedPost =postServiceImpl.updatePost(postDto);
 
         assertNotNull(updatedPost);
         assertEquals("Updated Indian Cricket Team Journey in ICC ODI WordCup", updatedPost.getTitle());
+        verify(postCache, times(1)).evict(post.getPostId());
+        verify(postSearchIndex, times(1)).index(eq(post.getPostId()), anyString(), anyString());
+        verify(postTitleTrie, times(1)).updateTitle(eq(post.getPostId()), anyString());
+        verify(postListingCache, times(1)).invalidatePost(ownerUser.getId(), category.getId());
+    }
+
+    @Test
+    void testCreatePosts_ReportsEveryPost()
+    {
+        PostDto valid = bulkPostDto("Indian Cricket Team", ownerUser.getId(), category.getId());
+        valid.setId(99);
+        PostDto noTitle = bulkPostDto("", ownerUser.getId(), category.getId());
+        PostDto unknownUser = bulkPostDto("World Cup Final", 42, category.getId());
+
+        when(userRepository.findAllById(Set.of(ownerUser.getId(), 42))).thenReturn(List.of(ownerUser));
+        when(categoryRepository.findAllById(Set.of(category.getId()))).thenReturn(List.of(category));
+        when(postMapper.toEntity(any(PostDto.class))).thenAnswer(invocation -> {
+            PostDto postDto = invocation.getArgument(0);
+            return new Post(postDto.getId(), postDto.getTitle(), postDto.getContent(), null, null, null, null, null, new ArrayList<>());
+        });
+        when(postRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Post> posts = invocation.getArgument(0);
+            posts.forEach(post -> post.setPostId(500));
+            return posts;
+        });
+
+        BulkPostResponse response = postServiceImpl.createPosts(List.of(valid, noTitle, unknownUser));
+
+        assertEquals(1, response.getCreated());
+        assertEquals(2, response.getFailed());
+        assertTrue(response.getResults().get(0).getSuccess());
+        assertEquals(500, response.getResults().get(0).getId());
+        assertFalse(response.getResults().get(1).getSuccess());
+        assertTrue(response.getResults().get(1).getMessage().startsWith("title"));
+        assertEquals("User not found with id: 42", response.getResults().get(2).getMessage());
+        verify(postRepository, times(1)).saveAll(argThat((List<Post> posts) -> posts.size() == 1
+                && posts.get(0).getPostId() == 500 && posts.get(0).getUser() == ownerUser && posts.get(0).getImageName().equals("default-image.jpg")));
+        verify(postSearchIndex, times(1)).index(500, "Indian Cricket Team", "Some content");
+        verify(postTitleTrie, times(1)).index(500, "Indian Cricket Team", 0);
+        verify(postListingCache, times(1)).invalidatePost(ownerUser.getId(), category.getId());
+    }
+
+    @Test
+    void testCreatePosts_NothingValidSkipsInsert()
+    {
+        when(userRepository.findAllById(any())).thenReturn(List.of());
+        when(categoryRepository.findAllById(any())).thenReturn(List.of());
+
+        BulkPostResponse response = postServiceImpl.createPosts(List.of(bulkPostDto("Title", 42, 43)));
+
+        assertEquals(0, response.getCreated());
+        assertEquals(1, response.getFailed());
+        verify(postRepository, never()).saveAll(anyList());
+        verify(postListingCache, never()).invalidatePost(any(), any());
+    }
+
+    @Test
+    void testCreatePosts_TooManyPosts()
+    {
+        List<PostDto> postDtos = new ArrayList<>();
+        for(int i = 0; i <= AppConstants.BULK_MAX_POSTS; i++)
+        {
+            postDtos.add(bulkPostDto("Title "+i, 1, 1));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.createPosts(postDtos));
+        verify(postRepository, never()).saveAll(anyList());
+    }
+
+    private static PostDto bulkPostDto(String title, Integer userId, Integer categoryId)
+    {
+        PostDto postDto = new PostDto();
+        postDto.setTitle(title);
+        postDto.setContent("Some content");
+        UserDto userDto = new UserDto();
+        userDto.setId(userId);
+        postDto.setUser(userDto);
+        CategoryDto categoryDto = new CategoryDto();
+        categoryDto.setId(categoryId);
+        postDto.setCategory(categoryDto);
+        return postDto;
     }
 
     @Test
@@ -187,7 +327,7 @@ public class PostServiceImplTest {
         Post mappedPost =  new Post();
         mappedPost.setPostId(nonExistingPostId);
 
-        when(modelMapper.map(any(PostDto.class), eq(Post.class))).thenReturn(mappedPost);
+        when(postMapper.toEntity(any(PostDto.class))).thenReturn(mappedPost);
 
         when(postRepository.findById(nonExistingPostId)).thenReturn(Optional.empty());
 
@@ -205,25 +345,25 @@ public class PostServiceImplTest {
         updatedPostDto.setTitle("Updated Post Title");
         updatedPostDto.setContent("Updated content of the post.");
 
-        mockSecurityContext(otherUser.getEmail());
+        actingAs(otherUser);
 
-        when(userRepository.findByEmail(otherUser.getEmail())).thenReturn(Optional.of(otherUser));
         when(postRepository.findById(10)).thenReturn(Optional.of(post));
 
-        when(modelMapper.map(any(PostDto.class),eq(Post.class))).thenReturn(post);
+        when(postMapper.toEntity(any(PostDto.class))).thenReturn(post);
 
         assertThrows(UnAuthorizedException.class, ()-> postServiceImpl.updatePost(updatedPostDto));
 
-        verify(userRepository, times(1)).findByEmail(otherUser.getEmail());
         verify(postRepository,times(1)).findById(10);
         verify(postRepository, never()).save(any(Post.class));
+        verify(postCache, never()).evict(anyInt());
     }
 
     @Test
     void testGetPostById_Success()
     {
+        readThroughPostCache();
         when(postRepository.findById(post.getPostId())).thenReturn(Optional.of(post));
-        when(modelMapper.map(any(Post.class),eq(PostDto.class))).thenReturn(postDto);
+        when(postMapper.toDto(any(Post.class))).thenReturn(postDto);
 
         PostDto resultDto = postServiceImpl.getPostById(post.getPostId());
 
@@ -235,6 +375,7 @@ public class PostServiceImplTest {
     @Test
     void testGetPostById_PostNotFound()
     {
+        readThroughPostCache();
         when(postRepository.findById(anyInt())) .thenReturn(Optional.empty());
 
         assertThrows(PostNotFoundException.class,()->postServiceImpl.getPostById(89));
@@ -245,12 +386,11 @@ public class PostServiceImplTest {
     @Test
     void testGetAllPosts_Success()
     {
-        Page<Post> page = new PageImpl<>(postList);
+        Page<PostSummaryDto> page = new PageImpl<>(summaryList);
 
-        when(postRepository.findAll(any(Pageable.class))).thenReturn(page);
-        when(modelMapper.map(post, PostDto.class)).thenReturn(postDtoList.get(0));
-        when(modelMapper.map(postList.get(1), PostDto.class)).thenReturn(postDtoList.get(1));
+        when(postRepository.findSummaryBy(any(Pageable.class))).thenReturn(page);
 
+        readThroughPostListingCache();
         PostResponse result = postServiceImpl.getAllPosts(1,10,"title","asc");
 
         assertNotNull(result);
@@ -258,18 +398,98 @@ public class PostServiceImplTest {
         assertEquals(0, result.getPageNumber());
         assertEquals(1, result.getTotalPages());
         assertEquals(2L, result.getTotalElements());
-        verify(postRepository,times(1)).findAll(any(Pageable.class));
+        verify(postRepository,times(1)).findSummaryBy(any(Pageable.class));
+    }
+
+    @Test
+    void testSliceAllPosts_SkipsCount()
+    {
+        Slice<PostSummaryDto> slice = new SliceImpl<>(summaryList, PageRequest.of(0, 2), true);
+
+        when(postRepository.findSummarySliceBy(any(Pageable.class))).thenReturn(slice);
+
+        PostResponse result = postServiceImpl.sliceAllPosts(0,2,"postId","asc");
+
+        assertEquals(2, result.getContent().size());
+        assertFalse(result.getLastPage());
+        assertNull(result.getTotalElements());
+        assertNull(result.getTotalPages());
+        verify(postRepository, times(1)).findSummarySliceBy(any(Pageable.class));
+        verify(postRepository, never()).findSummaryBy(any(Pageable.class));
+    }
+
+    @Test
+    void testSlicePostsByUser_UserNotFound()
+    {
+        when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, ()->postServiceImpl.slicePostsByUser(999,0,10,"title","asc"));
+
+        verify(postRepository,never()).findSummarySliceByUser(any(User.class),any(Pageable.class));
+    }
+
+    @Test
+    void testScrollAllPosts_FirstPage()
+    {
+        Window<PostSummaryDto> window = Window.from(summaryList, ScrollPosition::offset, true);
+
+        when(postRepository.findSummaryBy(any(ScrollPosition.class), any(Limit.class), any(Sort.class))).thenReturn(window);
+
+        PostResponse result = postServiceImpl.scrollAllPosts(null, 2, "postId", "asc");
+
+        assertNotNull(result);
+        assertEquals(2, result.getContent().size());
+        assertFalse(result.getLastPage());
+        assertNull(result.getTotalElements());
+        assertEquals(PostCursor.after(summaryList.get(1), "postId", "asc").encode(), result.getNextCursor());
+        verify(postRepository, times(1)).findSummaryBy(ScrollPosition.keyset(), Limit.of(2), Sort.by(Sort.Direction.ASC, "postId"));
+    }
+
+    @Test
+    void testScrollAllPosts_SeeksFromCursor()
+    {
+        Window<PostSummaryDto> window = Window.from(List.of(summaryList.get(1)), ScrollPosition::offset, false);
+        String cursor = PostCursor.after(summaryList.get(0), "title", "desc").encode();
+
+        when(postRepository.findSummaryBy(any(ScrollPosition.class), any(Limit.class), any(Sort.class))).thenReturn(window);
+
+        PostResponse result = postServiceImpl.scrollAllPosts(cursor, 5, AppConstants.SORT_BY, AppConstants.SORT_DIR);
+
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.getLastPage());
+        assertNull(result.getNextCursor());
+        verify(postRepository, times(1)).findSummaryBy(
+                ScrollPosition.forward(Map.of("title", summaryList.get(0).getTitle(), "postId", summaryList.get(0).getId())),
+                Limit.of(5),
+                Sort.by(Sort.Direction.DESC, "title").and(Sort.by(Sort.Direction.DESC, "postId")));
+    }
+
+    @Test
+    void testScrollAllPosts_InvalidCursor()
+    {
+        assertThrows(InvalidCursorException.class, ()-> postServiceImpl.scrollAllPosts("not-a-cursor", 5, "postId", "asc"));
+
+        verify(postRepository, never()).findSummaryBy(any(ScrollPosition.class), any(Limit.class), any(Sort.class));
+    }
+
+    @Test
+    void testScrollPostsByCategory_CategoryNotFound()
+    {
+        when(categoryRepository.findById(anyInt())).thenReturn(Optional.empty());
+
+        assertThrows(CategoryNotFoundException.class,()-> postServiceImpl.scrollPostsByCategory(99,null,10,"postId","asc"));
+
+        verify(postRepository,never()).findSummaryByCategory(any(Category.class),any(ScrollPosition.class),any(Limit.class),any(Sort.class));
     }
 
     @Test
     void testGetPostsByCategory_Success() {
-        Page<Post> page = new PageImpl<>(postList);
+        Page<PostSummaryDto> page = new PageImpl<>(summaryList);
 
         when(categoryRepository.findById(category.getId())).thenReturn(Optional.of(category));
-        when(postRepository.findByCategory(any(Category.class), any(Pageable.class))).thenReturn(page);
-        when(modelMapper.map(post, PostDto.class)).thenReturn(postDtoList.get(0));
-        when(modelMapper.map(postList.get(1), PostDto.class)).thenReturn(postDto);
+        when(postRepository.findSummaryByCategory(any(Category.class), any(Pageable.class))).thenReturn(page);
 
+        readThroughPostListingCache();
         PostResponse result = postServiceImpl.getPostsByCategory(category.getId(), 0, 10, "title", "asc");
 
         assertNotNull(result);
@@ -278,7 +498,7 @@ public class PostServiceImplTest {
         assertEquals(2L, result.getTotalElements());
 
         verify(categoryRepository, times(1)).findById(category.getId());
-        verify(postRepository, times(1)).findByCategory(any(Category.class), any(Pageable.class));
+        verify(postRepository, times(1)).findSummaryByCategory(any(Category.class), any(Pageable.class));
     }
 
     @Test
@@ -286,22 +506,22 @@ public class PostServiceImplTest {
     {
         when(categoryRepository.findById(anyInt())).thenReturn(Optional.empty());
 
+        readThroughPostListingCache();
         assertThrows(CategoryNotFoundException.class,()-> postServiceImpl.getPostsByCategory(99,0,10,"title","asc"));
 
         verify(categoryRepository,times(1)).findById(99);
-        verify(postRepository,never()).findByCategory(any(Category.class),any(Pageable.class));
+        verify(postRepository,never()).findSummaryByCategory(any(Category.class),any(Pageable.class));
     }
 
     @Test
     void testGetPostByUser_Success()
     {
-        Page<Post> page = new PageImpl<>(postList);
+        Page<PostSummaryDto> page = new PageImpl<>(summaryList);
 
         when(userRepository.findById(ownerUser.getId())).thenReturn(Optional.of(ownerUser));
-        when(postRepository.findByUser(any(User.class), any(Pageable.class))).thenReturn(page);
-        when(modelMapper.map(post, PostDto.class)).thenReturn(postDtoList.get(0));
-        when(modelMapper.map(postList.get(1), PostDto.class)).thenReturn(postDtoList.get(1));
+        when(postRepository.findSummaryByUser(any(User.class), any(Pageable.class))).thenReturn(page);
 
+        readThroughPostListingCache();
         PostResponse result = postServiceImpl.getPostsByUser(ownerUser.getId(),0,10,"title","asc");
 
         assertNotNull(result);
@@ -310,7 +530,7 @@ public class PostServiceImplTest {
         assertEquals(2L, result.getTotalElements());
 
         verify(userRepository, times(1)).findById(ownerUser.getId());
-        verify(postRepository, times(1)).findByUser(any(User.class),any(Pageable.class));
+        verify(postRepository, times(1)).findSummaryByUser(any(User.class),any(Pageable.class));
     }
 
     @Test
@@ -318,27 +538,136 @@ public class PostServiceImplTest {
     {
         when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
 
+        readThroughPostListingCache();
         assertThrows(UserNotFoundException.class, ()->postServiceImpl.getPostsByUser(999,0,10,"title","asc"));
 
         verify(userRepository,times(1)).findById(999);
-        verify(postRepository,never()).findByUser(any(User.class),any(Pageable.class));
+        verify(postRepository,never()).findSummaryByUser(any(User.class),any(Pageable.class));
+    }
+
+    @Test
+    void testSearchPosts_RankedPage()
+    {
+        when(postSearchIndex.search("cricket", null, 0, 2))
+                .thenReturn(new SearchHits(List.of(new ScoredPost(11, 2.5), new ScoredPost(10, 1.5)), 3));
+        when(postRepository.findSummaryByPostIdIn(List.of(11, 10))).thenReturn(summaryList);
+
+        PostResponse result = postServiceImpl.searchPosts("cricket", 0, 2, null);
+
+        // rank order wins over the order rows come back in
+        assertEquals(List.of(11, 10), result.getContent().stream().map(PostSummaryDto::getId).toList());
+        assertEquals(3L, result.getTotalElements());
+        assertEquals(2, result.getTotalPages());
+        assertFalse(result.getLastPage());
+        assertEquals(new ScoredPost(10, 1.5), SearchCursor.decode(result.getNextCursor()));
     }
 
     @Test
-    void testSearchPosts_Success()
+    void testSearchPosts_CursorSeeksAfterLastHit()
     {
-        String keyword = "Post";
+        String cursor = SearchCursor.encode(new ScoredPost(10, 1.5));
+        when(postSearchIndex.search("cricket", new ScoredPost(10, 1.5), 0, 2))
+                .thenReturn(new SearchHits(List.of(new ScoredPost(11, 0.5)), 1));
+        when(postRepository.findSummaryByPostIdIn(List.of(11))).thenReturn(summaryList.subList(1, 2));
 
-        when(postRepository.findByTitleContaining(keyword)).thenReturn(postList);
-        when(modelMapper.map(post, PostDto.class)).thenReturn(postDtoList.get(0));
-        when(modelMapper.map(postList.get(1), PostDto.class)).thenReturn(postDtoList.get(1));
+        PostResponse result = postServiceImpl.searchPosts("cricket", 0, 2, cursor);
 
-        List<PostDto> result = postServiceImpl.searchPosts(keyword);
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.getLastPage());
+        assertNull(result.getNextCursor());
+        assertNull(result.getTotalElements());
+    }
 
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("Post Two DTO Title",result.get(1).getTitle());
-        verify(postRepository,times(1)).findByTitleContaining(keyword);
+    @Test
+    void testSearchPosts_PostDeletedAfterLookupIsLeftOut()
+    {
+        when(postSearchIndex.search("cricket", null, 0, 2))
+                .thenReturn(new SearchHits(List.of(new ScoredPost(11, 2.5), new ScoredPost(12, 1.5)), 2));
+        when(postRepository.findSummaryByPostIdIn(List.of(11, 12))).thenReturn(summaryList.subList(1, 2));
+
+        PostResponse result = postServiceImpl.searchPosts("cricket", 0, 2, null);
+
+        assertEquals(List.of(11), result.getContent().stream().map(PostSummaryDto::getId).toList());
+    }
+
+    @Test
+    void testSearchPosts_NoHitsSkipsDatabase()
+    {
+        when(postSearchIndex.search(anyString(), isNull(), anyInt(), anyInt())).thenReturn(new SearchHits(List.of(), 0));
+
+        PostResponse result = postServiceImpl.searchPosts("nothing", 0, 5, null);
+
+        assertTrue(result.getContent().isEmpty());
+        assertTrue(result.getLastPage());
+        verify(postRepository,never()).findSummaryByPostIdIn(any());
+    }
+
+    @Test
+    void testSearchPosts_ClampsPageNumberAndSize()
+    {
+        when(postSearchIndex.search("cricket", null, 0, 1)).thenReturn(new SearchHits(List.of(), 0));
+        when(postSearchIndex.search("cricket", null, 0, AppConstants.SEARCH_PAGE_MAX)).thenReturn(new SearchHits(List.of(), 0));
+
+        assertEquals(1, postServiceImpl.searchPosts("cricket", -3, 0, null).getPageSize());
+        assertEquals(AppConstants.SEARCH_PAGE_MAX, postServiceImpl.searchPosts("cricket", 0, Integer.MAX_VALUE, null).getPageSize());
+    }
+
+    @Test
+    void testSearchPosts_OffsetPastLimitIsRejected()
+    {
+        assertThrows(InvalidCursorException.class, () -> postServiceImpl.searchPosts("cricket", Integer.MAX_VALUE, 10, null));
+        assertThrows(InvalidCursorException.class, () -> postServiceImpl.searchPosts("cricket", AppConstants.SEARCH_MAX_OFFSET / 10 + 1, 10, null));
+
+        verify(postSearchIndex,never()).search(anyString(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testSearchPosts_InvalidCursor()
+    {
+        assertThrows(InvalidCursorException.class, () -> postServiceImpl.searchPosts("cricket", 0, 5, "not-a-cursor"));
+
+        verify(postSearchIndex,never()).search(anyString(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testSuggestPosts_CapsLimitAtTopN()
+    {
+        when(postTitleTrie.suggest("cri", PostTitleTrie.TOP_N))
+                .thenReturn(List.of(new PostTitleTrie.Suggestion(10, "Indian Cricket Team", 4)));
+
+        List<PostSuggestionDto> result = postServiceImpl.suggestPosts("cri", 50);
+
+        assertEquals(1, result.size());
+        assertEquals(10, result.get(0).getId());
+        assertEquals("Indian Cricket Team", result.get(0).getTitle());
+    }
+
+    @Test
+    void testExportPosts_StreamsEveryPostAndClosesTheStream()
+    {
+        AtomicBoolean closed = new AtomicBoolean();
+        PostExportDto first = new PostExportDto(1, "Post 1", "Content 1", "default.png", new Date(), "Shubham", "Cricket");
+        PostExportDto second = new PostExportDto(2, "Post 2", "Content 2", "default.png", new Date(), "Shubham", "Cricket");
+        when(postRepository.streamExport()).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+
+        List<PostExportDto> exported = new ArrayList<>();
+        postServiceImpl.exportPosts(exported::add);
+
+        assertEquals(List.of(first, second), exported);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testExportPosts_ClosesTheStreamWhenTheConsumerFails()
+    {
+        AtomicBoolean closed = new AtomicBoolean();
+        PostExportDto post = new PostExportDto(1, "Post 1", "Content 1", "default.png", new Date(), "Shubham", "Cricket");
+        when(postRepository.streamExport()).thenReturn(Stream.of(post).onClose(() -> closed.set(true)));
+
+        assertThrows(IllegalStateException.class, () -> postServiceImpl.exportPosts(p -> {
+            throw new IllegalStateException("client went away");
+        }));
+        assertTrue(closed.get());
     }
 
     @Test
@@ -346,16 +675,17 @@ public class PostServiceImplTest {
     {
         Integer postId = 1;
 
-        mockSecurityContext(ownerUser.getEmail());
+        actingAs(ownerUser);
 
         when(postRepository.findById(1)).thenReturn(Optional.of(post));
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(ownerUser));
 
         postServiceImpl.deletePost(postId);
 
         verify(postRepository,times(1)).findById(postId);
         verify(postRepository,times(1)).delete(post);
-
+        verify(postCache,times(1)).evict(postId);
+        verify(postIndexes,times(1)).evict(List.of(postId));
+        verify(postListingCache,times(1)).invalidatePost(ownerUser.getId(), category.getId());
     }
 
    @Test
@@ -373,29 +703,33 @@ public class PostServiceImplTest {
    @Test
    void testDeletePost_UnauthorizedUser()
    {
-        mockSecurityContext(otherUser.getEmail());
+        actingAs(otherUser);
 
-        when(userRepository.findByEmail(otherUser.getEmail())).thenReturn(Optional.of(otherUser));
         when(postRepository.findById(10)).thenReturn(Optional.of(post));
 
         assertThrows(UnAuthorizedException.class,()->postServiceImpl.deletePost(10));
 
-        verify(userRepository, times(1)).findByEmail(otherUser.getEmail());
         verify(postRepository,times(1)).findById(10);
         verify(postRepository,never()).delete(any(Post.class));
+        verify(postCache,never()).evict(anyInt());
    }
 
-    private void mockSecurityContext(String username)
+    @SuppressWarnings("unchecked")
+    private void readThroughPostCache()
     {
-        UserDetails userDetails = mock(UserDetails.class);
-        when(userDetails.getUsername()).thenReturn(username);
-
-        Authentication authentication = mock(Authentication.class);
-        when(authentication.getPrincipal()).thenReturn(userDetails);
+        when(postCache.get(anyInt(), any(Function.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1, Function.class).apply(invocation.getArgument(0)));
+    }
 
-        SecurityContext securityContext = mock(SecurityContext.class);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
+    @SuppressWarnings("unchecked")
+    private void readThroughPostListingCache()
+    {
+        when(postListingCache.get(anyString(), anyInt(), anyInt(), anyString(), anyString(), any(Supplier.class)))
+                .thenAnswer(invocation -> invocation.getArgument(5, Supplier.class).get());
+    }
 
-        SecurityContextHolder.setContext(securityContext);
+    private void actingAs(User user)
+    {
+        when(currentUserProvider.get()).thenReturn(new CurrentUser(user.getId(), user.getEmail(), user.getRole().getName()));
     }
 }
@@ -1,27 +1,42 @@
 package com.blog_application.blogApp.service;
 
+import com.blog_application.blogApp.cache.PostCache;
+import com.blog_application.blogApp.cache.PostListingCache;
+import com.blog_application.blogApp.cache.PrincipalCache;
 import com.blog_application.blogApp.entity.Role;
 import com.blog_application.blogApp.entity.User;
+import com.blog_application.blogApp.exceptionHandler.DuplicateEmailException;
+import com.blog_application.blogApp.exceptionHandler.InvalidCursorException;
 import com.blog_application.blogApp.exceptionHandler.RoleNotFoundException;
 import com.blog_application.blogApp.exceptionHandler.UnAuthorizedException;
 import com.blog_application.blogApp.exceptionHandler.UserNotFoundException;
+import com.blog_application.blogApp.mapper.UserMapper;
 import com.blog_application.blogApp.payloads.UserDto;
+import com.blog_application.blogApp.payloads.UserPageResponse;
+import com.blog_application.blogApp.payloads.UserSummaryDto;
+import com.blog_application.blogApp.repository.PostRepository;
 import com.blog_application.blogApp.repository.RoleRepository;
 import com.blog_application.blogApp.repository.UserRepository;
+import com.blog_application.blogApp.search.PostIndexes;
+import com.blog_application.blogApp.security.CurrentUser;
+import com.blog_application.blogApp.security.CurrentUserProvider;
+import com.blog_application.blogApp.security.TokenVersionRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,7 +55,28 @@ public class UserServiceImplTest {
     PasswordEncoder passwordEncoder;
 
     @Mock
-    ModelMapper  modelMapper;
+    UserMapper userMapper;
+
+    @Mock
+    PostCache postCache;
+
+    @Mock
+    PostListingCache postListingCache;
+
+    @Mock
+    PrincipalCache principalCache;
+
+    @Mock
+    TokenVersionRegistry tokenVersionRegistry;
+
+    @Mock
+    CurrentUserProvider currentUserProvider;
+
+    @Mock
+    PostRepository postRepository;
+
+    @Mock
+    PostIndexes postIndexes;
 
     @InjectMocks
     UserServiceImpl  userServiceImpl;
@@ -53,11 +89,11 @@ public class UserServiceImplTest {
     void setUp()
     {
         userRole = new Role(1,"ROLE_USER");
-        user = new User(1,"Shubham","shubham@gmail.com","shub@123","I am Java Developer",null,null,userRole);
+        user = new User(1,"Shubham","shubham@gmail.com","shub@123","I am Java Developer",null,null,userRole,0);
         userDto = new UserDto(1,"shubham","shubham@gmail.com","shubh@123","I am Java Developer","ROLE_USER");
 
-        lenient().when(modelMapper.map(any(UserDto.class), eq(User.class))).thenReturn(user);
-        lenient().when(modelMapper.map(any(User.class), eq(UserDto.class))).thenReturn(userDto);
+        lenient().when(userMapper.toEntity(any(UserDto.class))).thenReturn(user);
+        lenient().when(userMapper.toDto(any(User.class))).thenReturn(userDto);
     }
 
     @Test
@@ -75,6 +111,28 @@ public class UserServiceImplTest {
         verify(userRepository, times(1)).save(any(User.class));
     }
 
+    @Test
+    void testRegisterUser_DuplicateEmail()
+    {
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(userRole));
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("insert failed",
+                new RuntimeException("Duplicate entry 'shubham@gmail.com' for key 'users.uk_users_email_normalized'")));
+
+        assertThrows(DuplicateEmailException.class, ()-> userServiceImpl.registerUser(userDto));
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void testRegisterUser_OtherIntegrityViolationPropagates()
+    {
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(userRole));
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("Column 'about' cannot be null"));
+
+        assertThrows(DataIntegrityViolationException.class, ()-> userServiceImpl.registerUser(userDto));
+    }
+
     @Test
     void testRegisterUser_RoleNotFound()
     {
@@ -112,11 +170,10 @@ public class UserServiceImplTest {
     void testUpdateUser_Success_AsAdmin()
     {
         UserDto admin = new UserDto(2,"rushikesh","rushi@gmail.com","rushi@123","I am admin","ROLE_ADMIN");
-        User adminUser = new User(2,"rushikesh","rushi@gmail.com","rushi@123","I am admin",null,null,new Role(2, "ROLE_ADMIN"));
+        User adminUser = new User(2,"rushikesh","rushi@gmail.com","rushi@123","I am admin",null,null,new Role(2, "ROLE_ADMIN"),0);
 
-        mockSecurityContext(adminUser);
+        actingAs(adminUser);
 
-        when(userRepository.findByEmail(adminUser.getEmail())).thenReturn(Optional.of(adminUser));
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(passwordEncoder.encode(anyString())).thenReturn("newEncodedString");
@@ -131,8 +188,7 @@ public class UserServiceImplTest {
     @Test
     void testUpdateUser_Success_AsOwner()
     {
-        mockSecurityContext(user);
-        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        actingAs(user);
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(passwordEncoder.encode(anyString())).thenReturn("newEncodedString");
@@ -146,15 +202,44 @@ public class UserServiceImplTest {
         verify(userRepository,times(1)).save(any(User.class));
     }
 
+    @Test
+    void testUpdateUser_UsesPrincipalAndRevokesTokens()
+    {
+        actingAs(user);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(passwordEncoder.encode(anyString())).thenReturn("newEncodedString");
+
+        userServiceImpl.updateUser(userDto);
+
+        assertEquals(1, user.getTokenVersion());
+        verify(tokenVersionRegistry,times(1)).update(1, 1);
+        verify(userRepository,never()).findByEmail(anyString());
+    }
+
+    @Test
+    void testUpdateUser_EvictsOldAndNewEmailPrincipals()
+    {
+        User existing = new User(1,"Shubham","old@gmail.com","shub@123","I am Java Developer",null,null,userRole,0);
+        actingAs(existing);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(existing));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(passwordEncoder.encode(anyString())).thenReturn("newEncodedString");
+
+        userServiceImpl.updateUser(userDto);
+
+        verify(principalCache,times(1)).evict("old@gmail.com");
+        verify(principalCache,times(1)).evict(user.getEmail());
+    }
+
     @Test
     void testUpdatedUser_Unauthorized()
     {
        UserDto otherUserDto = new UserDto(3,"virat","virat@gmail.com","virat@123","I am other user","ROLE_USER");
-       User otherUser = new  User(3,"virat","virat@gmail.com","virat@123","I am other user",null,null,new Role(1,"ROLE_USER"));
+       User otherUser = new  User(3,"virat","virat@gmail.com","virat@123","I am other user",null,null,new Role(1,"ROLE_USER"),0);
 
-       mockSecurityContext(otherUser);
+       actingAs(otherUser);
 
-       when(userRepository.findByEmail(otherUser.getEmail())).thenReturn(Optional.of(otherUser));
        when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
 
        assertThrows(UnAuthorizedException.class, ()->userServiceImpl.updateUser(userDto));
@@ -164,8 +249,6 @@ public class UserServiceImplTest {
     @Test
     void testUpdateUser_UserNotFound()
     {
-        mockSecurityContext(user);
-        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class,()-> userServiceImpl.updateUser(userDto));
@@ -195,10 +278,10 @@ public class UserServiceImplTest {
     @Test
     void testGetAllUser()
     {
-        User newUser = new User(5,"rohit","rohit@gmail.com","rohit@123","I am new user",null,null,new Role(1,"ROLE_USER"));
+        User newUser = new User(5,"rohit","rohit@gmail.com","rohit@123","I am new user",null,null,new Role(1,"ROLE_USER"),0);
         List<User> userList = List.of(user, newUser);
         when(userRepository.findAll()).thenReturn(userList);
-        lenient().when(modelMapper.map(newUser,UserDto.class)).thenReturn(new UserDto(5,"rohit","rohit@gmail.com","rohit@123","I am new user","ROLE_USER"));
+        lenient().when(userMapper.toDto(newUser)).thenReturn(new UserDto(5,"rohit","rohit@gmail.com","rohit@123","I am new user","ROLE_USER"));
 
         List<UserDto> allUsers = userServiceImpl.getAllUsers();
 
@@ -207,14 +290,50 @@ public class UserServiceImplTest {
         assertEquals("rohit", allUsers.get(1).getName());
     }
 
+    @Test
+    void testScrollUsers_CursorSeeksPastLastUser()
+    {
+        List<UserSummaryDto> firstPage = List.of(new UserSummaryDto(1, "Shubham", "shub@gmail.com", "about", "ROLE_USER"),
+                new UserSummaryDto(4, "Rohit", "rohit@gmail.com", "about", "ROLE_USER"));
+        when(userRepository.findSummaryBy(eq(ScrollPosition.keyset()), eq(Limit.of(2)), eq(Sort.by("id"))))
+                .thenReturn(Window.from(firstPage, index -> ScrollPosition.forward(Map.of("id", firstPage.get(index).getId())), true));
+
+        UserPageResponse first = userServiceImpl.scrollUsers(null, 2);
+
+        assertFalse(first.getLastPage());
+        assertNotNull(first.getNextCursor());
+
+        when(userRepository.findSummaryBy(any(ScrollPosition.class), eq(Limit.of(2)), eq(Sort.by("id")))).thenReturn(Window.from(List.of(), index -> null));
+        UserPageResponse second = userServiceImpl.scrollUsers(first.getNextCursor(), 2);
+
+        assertTrue(second.getLastPage());
+        assertNull(second.getNextCursor());
+        verify(userRepository).findSummaryBy(argThat(position -> position instanceof KeysetScrollPosition keyset
+                && Integer.valueOf(4).equals(keyset.getKeys().get("id"))), eq(Limit.of(2)), eq(Sort.by("id")));
+    }
+
+    @Test
+    void testScrollUsers_InvalidCursor()
+    {
+        assertThrows(InvalidCursorException.class, () -> userServiceImpl.scrollUsers("not a cursor!", 2));
+        assertThrows(InvalidCursorException.class, () -> userServiceImpl.scrollUsers("YWJj", 2));
+        verify(userRepository, never()).findSummaryBy(any(ScrollPosition.class), any(Limit.class), any(Sort.class));
+    }
+
     @Test
     void testDeleteUser_Success()
     {
         when(userRepository.findById(1)).thenReturn(Optional.of(user));
+        when(postRepository.findPostIdsByUser(user)).thenReturn(List.of(4, 7));
 
         userServiceImpl.deleteUser(1);
 
         verify(userRepository,times(1)).delete(user);
+        verify(postIndexes, times(1)).evict(List.of(4, 7));
+        verify(principalCache,times(1)).evict(user.getEmail());
+        verify(tokenVersionRegistry,times(1)).revokeAll(1);
+        verify(postCache,times(1)).evictAll();
+        verify(postListingCache,times(1)).invalidateAll();
     }
 
     @Test
@@ -225,16 +344,11 @@ public class UserServiceImplTest {
         assertThrows(UserNotFoundException.class,()->userServiceImpl.deleteUser(1));
 
         verify(userRepository,never()).delete(any(User.class));
+        verify(principalCache,never()).evict(anyString());
     }
 
-    private void mockSecurityContext(UserDetails userDetails)
+    private void actingAs(User user)
     {
-        Authentication authentication = mock(Authentication.class);
-        SecurityContext securityContext = mock(SecurityContext.class);
-
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getPrincipal()).thenReturn(userDetails);
-
-        SecurityContextHolder.setContext(securityContext);
+        when(currentUserProvider.get()).thenReturn(new CurrentUser(user.getId(), user.getEmail(), user.getRole().getName()));
     }
 }